@@ -0,0 +1,65 @@
+package my.application.individuals_api.admission;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import my.application.individuals_api.exception.AuthException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static my.application.individuals_api.utils.Messages.SERVICE_OVERLOADED;
+
+/**
+ * The per-endpoint limiters, shared by the HTTP filter and the RSocket routes so that a call over either transport
+ * counts against the same endpoint limit and the same service-wide in-flight budget.
+ */
+@Component
+public class AdmissionControl {
+
+    private static final List<String> ENDPOINTS = List.of("registration", "login", "me", "refresh-token", "logout", "introspect", "user-lookup");
+
+    private final boolean enabled;
+    private final Map<String, EndpointLimiter> limiters = new HashMap<>();
+
+    public AdmissionControl(Environment environment,
+                            MeterRegistry meterRegistry,
+                            @Value("${admission.enabled}") boolean enabled,
+                            @Value("${admission.max-in-flight}") int globalMaxInFlight,
+                            @Value("${admission.queue-timeout}") Duration queueTimeout) {
+        this.enabled = enabled;
+        AtomicInteger globalInFlight = new AtomicInteger();
+        for (String endpoint : ENDPOINTS) {
+            String prefix = "admission.endpoints." + endpoint + ".";
+            limiters.put(endpoint, new EndpointLimiter(endpoint,
+                    environment.getRequiredProperty(prefix + "max-in-flight", Integer.class),
+                    environment.getRequiredProperty(prefix + "max-queue", Integer.class),
+                    queueTimeout,
+                    environment.getRequiredProperty(prefix + "global-share", Double.class),
+                    globalMaxInFlight, globalInFlight, meterRegistry));
+        }
+    }
+
+    /**
+     * Runs {@code call} once the endpoint admits it, failing with a 503 {@link AuthException} when it is shed.
+     */
+    public <T> Mono<T> admit(String endpoint, Mono<T> call) {
+        EndpointLimiter limiter = limiter(endpoint);
+        if (limiter == null) {
+            return call;
+        }
+        return Mono.usingWhen(limiter.acquire(),
+                permit -> permit.admitted() ? call : Mono.error(new AuthException(SERVICE_OVERLOADED, HttpStatus.SERVICE_UNAVAILABLE)),
+                permit -> Mono.fromRunnable(permit::release));
+    }
+
+    EndpointLimiter limiter(String endpoint) {
+        return enabled ? limiters.get(endpoint) : null;
+    }
+}
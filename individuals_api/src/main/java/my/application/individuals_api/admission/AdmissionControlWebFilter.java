@@ -0,0 +1,64 @@
+package my.application.individuals_api.admission;
+
+import my.application.individuals_api.errorhandling.ErrorPayloads;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static my.application.individuals_api.utils.Messages.SERVICE_OVERLOADED;
+
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class AdmissionControlWebFilter implements WebFilter {
+
+    private static final Map<String, String> ENDPOINTS = Map.of(
+            "/v1/auth/registration", "registration",
+            "/v1/auth/login", "login",
+            "/v1/auth/me", "me",
+            "/v1/auth/refresh-token", "refresh-token",
+            "/v1/auth/logout", "logout",
+            "/v1/auth/introspect", "introspect",
+            "/v1/users/lookup", "user-lookup");
+
+    private final AdmissionControl admissionControl;
+    private final String retryAfterSeconds;
+    private final byte[] overloadedBody;
+
+    public AdmissionControlWebFilter(AdmissionControl admissionControl,
+                                     @Value("${admission.retry-after}") Duration retryAfter) {
+        this.admissionControl = admissionControl;
+        this.retryAfterSeconds = String.valueOf(Math.max(1, retryAfter.toSeconds()));
+        this.overloadedBody = ErrorPayloads.body(SERVICE_OVERLOADED, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String endpoint = ENDPOINTS.get(exchange.getRequest().getPath().pathWithinApplication().value());
+        EndpointLimiter limiter = endpoint != null ? admissionControl.limiter(endpoint) : null;
+        if (limiter == null) {
+            return chain.filter(exchange);
+        }
+        return Mono.usingWhen(limiter.acquire(),
+                permit -> permit.admitted() ? chain.filter(exchange) : writeOverloaded(exchange.getResponse()),
+                permit -> Mono.fromRunnable(permit::release));
+    }
+
+    private Mono<Void> writeOverloaded(ServerHttpResponse response) {
+        response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(overloadedBody)));
+    }
+}
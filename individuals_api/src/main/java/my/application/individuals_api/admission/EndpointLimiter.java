@@ -0,0 +1,223 @@
+package my.application.individuals_api.admission;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-flight limit with a short bounded wait queue for one endpoint. Admission, immediate or from the queue, also
+ * requires the service-wide in-flight count to be below this endpoint's share of the global limit, so lower
+ * priority endpoints are shed first as the service saturates.
+ *
+ * <p>An admitted request holds a {@link Permit} until it is released; use it with {@link Mono#usingWhen} so that
+ * completion, error and cancellation all give it back.
+ */
+class EndpointLimiter {
+
+    private final String name;
+    private final int maxInFlight;
+    private final int maxQueue;
+    private final long queueTimeoutMillis;
+    private final int globalThreshold;
+    private final AtomicInteger globalInFlight;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Queue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+
+    EndpointLimiter(String name, int maxInFlight, int maxQueue, Duration queueTimeout, double globalShare,
+                    int globalMaxInFlight, AtomicInteger globalInFlight, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.maxInFlight = maxInFlight;
+        this.maxQueue = maxQueue;
+        this.queueTimeoutMillis = queueTimeout.toMillis();
+        this.globalThreshold = (int) Math.ceil(globalShare * globalMaxInFlight);
+        this.globalInFlight = globalInFlight;
+        this.meterRegistry = meterRegistry;
+
+        Gauge.builder("admission.in-flight", inFlight, AtomicInteger::get)
+                .tag("endpoint", name)
+                .register(meterRegistry);
+        Gauge.builder("admission.queue-depth", queued, AtomicInteger::get)
+                .tag("endpoint", name)
+                .register(meterRegistry);
+    }
+
+    Mono<Permit> acquire() {
+        return Mono.defer(() -> {
+            if (globalInFlight.get() >= globalThreshold) {
+                return shed("priority");
+            }
+            if (tryAcquire()) {
+                if (tryAcquireGlobal()) {
+                    return Mono.just(new Permit(this));
+                }
+                inFlight.decrementAndGet();
+                drain();
+                return shed("priority");
+            }
+            if (queued.incrementAndGet() > maxQueue) {
+                queued.decrementAndGet();
+                return shed("queue-full");
+            }
+            return Mono.create(sink -> {
+                Waiter waiter = new Waiter(sink, new Permit(this));
+                sink.onCancel(() -> {
+                    if (waiter.cancel()) {
+                        queued.decrementAndGet();
+                        waiter.timer.dispose();
+                    } else if (waiter.isGranted()) {
+                        // Granted, but cancelled before the permit reached the subscriber that would release it.
+                        waiter.permit.release();
+                    }
+                });
+                waiters.offer(waiter);
+                waiter.timer = Schedulers.parallel().schedule(() -> {
+                    if (waiter.cancel()) {
+                        queued.decrementAndGet();
+                        countShed("queue-timeout");
+                        sink.success(Permit.REJECTED);
+                    }
+                }, queueTimeoutMillis, TimeUnit.MILLISECONDS);
+                drain();
+            });
+        });
+    }
+
+    private void release() {
+        globalInFlight.decrementAndGet();
+        inFlight.decrementAndGet();
+        drain();
+    }
+
+    private boolean tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= maxInFlight) {
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    private boolean tryAcquireGlobal() {
+        int current;
+        do {
+            current = globalInFlight.get();
+            if (current >= globalThreshold) {
+                return false;
+            }
+        } while (!globalInFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    // Called after every enqueue and every release, so a waiter is never left behind a free permit. Waiters are
+    // held to the same priority threshold as new requests: once the service is past this endpoint's share they
+    // are shed rather than admitted.
+    private void drain() {
+        while (!waiters.isEmpty() && tryAcquire()) {
+            Waiter waiter = waiters.poll();
+            if (waiter == null || !waiter.isWaiting()) {
+                inFlight.decrementAndGet();
+                continue;
+            }
+            if (!tryAcquireGlobal()) {
+                inFlight.decrementAndGet();
+                if (waiter.cancel()) {
+                    queued.decrementAndGet();
+                    waiter.timer.dispose();
+                    countShed("priority");
+                    waiter.sink.success(Permit.REJECTED);
+                }
+                continue;
+            }
+            if (waiter.grant()) {
+                queued.decrementAndGet();
+                waiter.timer.dispose();
+                waiter.sink.success(waiter.permit);
+            } else {
+                globalInFlight.decrementAndGet();
+                inFlight.decrementAndGet();
+            }
+        }
+    }
+
+    private Mono<Permit> shed(String reason) {
+        countShed(reason);
+        return Mono.just(Permit.REJECTED);
+    }
+
+    private void countShed(String reason) {
+        meterRegistry.counter("admission.shed", "endpoint", name, "reason", reason).increment();
+    }
+
+    /**
+     * Admission decision; an admitted permit must be released exactly once, and releasing it again has no effect.
+     */
+    static final class Permit {
+
+        static final Permit REJECTED = new Permit(null);
+
+        private final EndpointLimiter limiter;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(EndpointLimiter limiter) {
+            this.limiter = limiter;
+        }
+
+        boolean admitted() {
+            return limiter != null;
+        }
+
+        void release() {
+            if (limiter != null && released.compareAndSet(false, true)) {
+                limiter.release();
+            }
+        }
+    }
+
+    private static class Waiter {
+        private static final int WAITING = 0;
+        private static final int GRANTED = 1;
+        private static final int CANCELLED = 2;
+
+        private final MonoSink<Permit> sink;
+        private final Permit permit;
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+        private volatile Disposable timer = Disposables.disposed();
+
+        Waiter(MonoSink<Permit> sink, Permit permit) {
+            this.sink = sink;
+            this.permit = permit;
+        }
+
+        boolean grant() {
+            return state.compareAndSet(WAITING, GRANTED);
+        }
+
+        boolean cancel() {
+            return state.compareAndSet(WAITING, CANCELLED);
+        }
+
+        boolean isWaiting() {
+            return state.get() == WAITING;
+        }
+
+        boolean isGranted() {
+            return state.get() == GRANTED;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package my.application.individuals_api.api;
+
+import lombok.RequiredArgsConstructor;
+import my.application.individuals_api.audit.AuditLog;
+import my.application.individuals_api.audit.AuditRecord;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+@RestController
+@RequestMapping("/internal/audit")
+@RequiredArgsConstructor
+public class AuditController {
+
+    private final AuditLog auditLog;
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<AuditRecord> stream() {
+        return auditLog.stream();
+    }
+}
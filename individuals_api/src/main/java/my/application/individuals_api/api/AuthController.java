@@ -2,15 +2,23 @@ package my.application.individuals_api.api;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import my.application.individuals_api.request.IntrospectionRequest;
 import my.application.individuals_api.request.RefreshTokenRequest;
 import my.application.individuals_api.response.AuthResponse;
+import my.application.individuals_api.response.IntrospectionResponse;
 import my.application.individuals_api.request.RegistrationRequest;
 import my.application.individuals_api.request.LoginRequest;
 import my.application.individuals_api.response.UserInfoResponse;
+import my.application.individuals_api.service.IntrospectionService;
 import my.application.individuals_api.service.TokenService;
 import my.application.individuals_api.service.UserService;
+import my.application.individuals_api.timing.RequestTimings;
+import my.application.individuals_api.utils.ETags;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpStatus;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
@@ -23,25 +31,50 @@ public class AuthController {
 
     private final UserService userService;
     private final TokenService tokenService;
+    private final IntrospectionService introspectionService;
 
     @PostMapping("/registration")
     public Mono<ResponseEntity<AuthResponse>> registerUser(@Valid @RequestBody RegistrationRequest request) {
         return Mono.just(request).flatMap(req -> userService.registerUser(req)
-                .map(authResponse -> ResponseEntity.status(HttpStatus.CREATED).body(authResponse)));
+                .map(authResponse -> ResponseEntity.status(HttpStatus.CREATED).body(authResponse)))
+                .transform(RequestTimings::handled);
     }
 
     @PostMapping("/login")
     public Mono<AuthResponse> loginUser(@Valid @RequestBody Mono<LoginRequest> requestMono) {
-        return requestMono.flatMap(request -> userService.loginUser(request.email(), request.password()));
+        return requestMono.flatMap(request -> userService.loginUser(request.email(), request.password()))
+                .transform(RequestTimings::handled);
     }
 
     @PostMapping("/refresh-token")
     public Mono<AuthResponse> refreshToken(@Valid @RequestBody RefreshTokenRequest request) {
-        return tokenService.refreshToken(request.refreshToken());
+        return tokenService.refreshToken(request.refreshToken())
+                .transform(RequestTimings::handled);
     }
 
+    // Browsers may keep the response but must revalidate it; an If-None-Match that still matches gets a bodiless 304.
     @GetMapping("/me")
-    public Mono<UserInfoResponse> getUserInfo(@AuthenticationPrincipal Jwt jwt) {
-        return userService.getUserInfo(jwt);
+    public Mono<ResponseEntity<UserInfoResponse>> getUserInfo(@AuthenticationPrincipal Jwt jwt) {
+        return userService.getUserInfo(jwt)
+                .map(userInfo -> ResponseEntity.ok()
+                        .eTag(ETags.userInfo(userInfo))
+                        .cacheControl(CacheControl.noCache().cachePrivate())
+                        .varyBy(HttpHeaders.AUTHORIZATION)
+                        .body(userInfo))
+                .transform(RequestTimings::handled);
+    }
+
+    @PreAuthorize("hasAuthority('ROLE_introspect-tokens')")
+    @PostMapping("/introspect")
+    public Mono<IntrospectionResponse> introspect(@Valid @RequestBody IntrospectionRequest request) {
+        return introspectionService.introspect(request.tokens())
+                .transform(RequestTimings::handled);
+    }
+
+    @PostMapping("/logout")
+    public Mono<ResponseEntity<Void>> logout(@AuthenticationPrincipal Jwt jwt, @Valid @RequestBody RefreshTokenRequest request) {
+        return tokenService.logout(jwt, request.refreshToken())
+                .then(Mono.just(ResponseEntity.noContent().<Void>build()))
+                .transform(RequestTimings::handled);
     }
 }
@@ -0,0 +1,97 @@
+package my.application.individuals_api.api;
+
+import io.rsocket.exceptions.ApplicationErrorException;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import my.application.individuals_api.admission.AdmissionControl;
+import my.application.individuals_api.exception.AuthException;
+import my.application.individuals_api.logging.StackTraceRateLimiter;
+import my.application.individuals_api.request.AccessTokenRequest;
+import my.application.individuals_api.request.LoginRequest;
+import my.application.individuals_api.request.RefreshTokenRequest;
+import my.application.individuals_api.response.AuthResponse;
+import my.application.individuals_api.response.UserInfoResponse;
+import my.application.individuals_api.service.TokenService;
+import my.application.individuals_api.service.UserService;
+import org.springframework.http.HttpStatus;
+import org.springframework.messaging.handler.annotation.MessageExceptionHandler;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.support.MethodArgumentNotValidException;
+import org.springframework.messaging.handler.invocation.MethodArgumentResolutionException;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import org.springframework.stereotype.Controller;
+import reactor.core.publisher.Mono;
+
+import java.util.stream.Collectors;
+
+import static my.application.individuals_api.utils.Messages.INVALID_OR_EXPIRED_ACCESS_TOKEN;
+import static my.application.individuals_api.utils.Messages.INVALID_REQUEST;
+import static my.application.individuals_api.utils.Messages.UNEXPECTED_SERVER_ERROR;
+
+/**
+ * Request-response routes for internal services, mirroring the login, refresh-token and me endpoints of
+ * {@link AuthController}, under the same admission limits. Errors are sent as application errors with the message
+ * {@code "<status> <error>"}.
+ */
+@Slf4j
+@Controller
+@RequiredArgsConstructor
+public class AuthRSocketController {
+
+    private final UserService userService;
+    private final TokenService tokenService;
+    private final ReactiveJwtDecoder jwtDecoder;
+    private final AdmissionControl admissionControl;
+    private final StackTraceRateLimiter stackTraceRateLimiter;
+
+    @MessageMapping("auth.login")
+    public Mono<AuthResponse> login(@Valid LoginRequest request) {
+        return admissionControl.admit("login", Mono.defer(() -> userService.loginUser(request.email(), request.password())));
+    }
+
+    @MessageMapping("auth.refresh-token")
+    public Mono<AuthResponse> refreshToken(@Valid RefreshTokenRequest request) {
+        return admissionControl.admit("refresh-token", Mono.defer(() -> tokenService.refreshToken(request.refreshToken())));
+    }
+
+    @MessageMapping("auth.me")
+    public Mono<UserInfoResponse> getUserInfo(@Valid AccessTokenRequest request) {
+        return admissionControl.admit("me", Mono.defer(() -> jwtDecoder.decode(request.accessToken())
+                .onErrorMap(JwtException.class, ex -> new AuthException(INVALID_OR_EXPIRED_ACCESS_TOKEN, HttpStatus.UNAUTHORIZED))
+                .flatMap(userService::getUserInfo)));
+    }
+
+    @MessageExceptionHandler
+    public Mono<Void> handleAuthException(AuthException ex) {
+        return Mono.error(new ApplicationErrorException(ex.getStatus().value() + " " + ex.getMessage()));
+    }
+
+    @MessageExceptionHandler
+    public Mono<Void> handleInvalidPayload(MethodArgumentNotValidException ex) {
+        String fields = ex.getBindingResult() == null ? "" : ex.getBindingResult().getFieldErrors().stream()
+                .map(error -> error.getField() + " " + error.getDefaultMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+        String message = fields.isEmpty() ? INVALID_REQUEST : INVALID_REQUEST + ": " + fields;
+        return Mono.error(new ApplicationErrorException(HttpStatus.BAD_REQUEST.value() + " " + message));
+    }
+
+    // A missing or unreadable payload.
+    @MessageExceptionHandler
+    public Mono<Void> handleUnresolvedPayload(MethodArgumentResolutionException ex) {
+        return Mono.error(new ApplicationErrorException(HttpStatus.BAD_REQUEST.value() + " " + INVALID_REQUEST));
+    }
+
+    // Same logging and generic answer as GlobalErrorHandler, so exception details never reach the requester.
+    @MessageExceptionHandler
+    public Mono<Void> handleUnexpected(Exception ex) {
+        if (stackTraceRateLimiter.tryAcquire()) {
+            log.error("Unexpected exception occurred: {}", ex.getMessage(), ex);
+        } else {
+            log.error("Unexpected exception occurred: {}: {}", ex.getClass().getName(), ex.getMessage());
+        }
+        return Mono.error(new ApplicationErrorException(HttpStatus.INTERNAL_SERVER_ERROR.value() + " " + UNEXPECTED_SERVER_ERROR));
+    }
+}
@@ -0,0 +1,28 @@
+package my.application.individuals_api.api;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import my.application.individuals_api.request.UserLookupRequest;
+import my.application.individuals_api.response.UserLookupResponse;
+import my.application.individuals_api.service.UserService;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+@RestController
+@RequestMapping("/v1/users")
+@RequiredArgsConstructor
+public class UserController {
+
+    private final UserService userService;
+
+    @PreAuthorize("hasAuthority('ROLE_view-users')")
+    @PostMapping(value = "/lookup", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<UserLookupResponse> lookupUsers(@Valid @RequestBody UserLookupRequest request) {
+        return userService.lookupUsers(request.ids());
+    }
+}
@@ -0,0 +1,9 @@
+package my.application.individuals_api.audit;
+
+public enum AuditEventType {
+    REGISTRATION,
+    LOGIN,
+    TOKEN_REFRESH,
+    USER_INFO,
+    LOGOUT
+}
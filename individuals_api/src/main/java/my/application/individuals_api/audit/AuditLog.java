@@ -0,0 +1,152 @@
+package my.application.individuals_api.audit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import my.application.individuals_api.exception.AuthException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Audit trail of authentication outcomes. Request handlers only copy the event into {@link AuditRingBuffer};
+ * a single consumer thread appends batches to the segment files and feeds the live stream.
+ */
+@Slf4j
+@Component
+public class AuditLog implements InitializingBean, DisposableBean {
+
+    private static final AuditEventType[] TYPES = AuditEventType.values();
+    private static final long MAX_IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final boolean enabled;
+    private final int batchSize;
+    private final AuditRingBuffer ringBuffer;
+    private final AuditSegmentWriter segmentWriter;
+    private final Sinks.Many<AuditRecord> liveStream = Sinks.many().multicast().directBestEffort();
+    private final Counter dropped;
+    private final Thread consumer;
+    private volatile boolean running = true;
+    private volatile boolean consumerParked;
+
+    public AuditLog(MeterRegistry meterRegistry,
+                    @Value("${audit.enabled}") boolean enabled,
+                    @Value("${audit.directory}") String directory,
+                    @Value("${audit.ring-buffer-size}") int ringBufferSize,
+                    @Value("${audit.batch-size}") int batchSize,
+                    @Value("${audit.segment-size}") DataSize segmentSize,
+                    @Value("${audit.max-segments}") int maxSegments) {
+        if (enabled && !Path.of(directory).isAbsolute()) {
+            throw new IllegalStateException("audit.directory must be an absolute path when audit is enabled, got '" + directory + "'");
+        }
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.ringBuffer = new AuditRingBuffer(enabled ? ringBufferSize : 2);
+        this.segmentWriter = enabled ? new AuditSegmentWriter(Path.of(directory), segmentSize.toBytes(), maxSegments) : null;
+        this.consumer = Thread.ofPlatform().name("audit-log-writer").daemon().unstarted(this::consume);
+
+        this.dropped = Counter.builder("audit.events.dropped")
+                .description("Audit events dropped because the ring buffer was full")
+                .register(meterRegistry);
+        Gauge.builder("audit.ring-buffer.size", ringBuffer, AuditRingBuffer::size)
+                .description("Audit events waiting to be written")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (enabled) {
+            consumer.start();
+        }
+    }
+
+    public void publish(AuditEventType type, int status, String subject) {
+        if (!enabled) {
+            return;
+        }
+        if (!ringBuffer.publish(System.currentTimeMillis(), type, status < 400, status, subject)) {
+            dropped.increment();
+        } else if (consumerParked) {
+            LockSupport.unpark(consumer);
+        }
+    }
+
+    public <T> Mono<T> audited(AuditEventType type, HttpStatus successStatus, String subject, Mono<T> source) {
+        if (!enabled) {
+            return source;
+        }
+        return source
+                .doOnSuccess(ignored -> publish(type, successStatus.value(), subject))
+                .doOnError(e -> publish(type, statusOf(e), subject));
+    }
+
+    public Flux<AuditRecord> stream() {
+        return liveStream.asFlux();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        if (enabled) {
+            LockSupport.unpark(consumer);
+            consumer.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    private void consume() {
+        AuditRingBuffer.Handler handler = this::write;
+        while (running || ringBuffer.size() > 0) {
+            try {
+                if (ringBuffer.drain(handler, batchSize) == 0) {
+                    park();
+                }
+            } catch (RuntimeException e) {
+                log.error("Audit log writer failed: {}", e.getMessage(), e);
+                LockSupport.parkNanos(TimeUnit.SECONDS.toNanos(1));
+            }
+        }
+        segmentWriter.close();
+    }
+
+    // The flag is set before the buffer is checked again and read by publishers after they claim a slot, so
+    // either the check sees the new event or the publisher sees the flag and unparks. The timeout is a backstop.
+    private void park() {
+        consumerParked = true;
+        if (running && ringBuffer.size() == 0) {
+            LockSupport.parkNanos(this, MAX_IDLE_PARK_NANOS);
+        }
+        consumerParked = false;
+    }
+
+    private void write(long timestamp, int type, boolean success, int status, byte[] subjects, int subjectOffset, int subjectLength) {
+        segmentWriter.append(timestamp, type, success, status, subjects, subjectOffset, subjectLength);
+        if (liveStream.currentSubscriberCount() > 0) {
+            liveStream.tryEmitNext(new AuditRecord(Instant.ofEpochMilli(timestamp), TYPES[type], success, status,
+                    new String(subjects, subjectOffset, subjectLength, StandardCharsets.UTF_8)));
+        }
+    }
+
+    private static int statusOf(Throwable e) {
+        if (e instanceof AuthException authException) {
+            return authException.getStatus().value();
+        }
+        if (e instanceof WebClientResponseException responseException) {
+            return responseException.getStatusCode().value();
+        }
+        return HttpStatus.INTERNAL_SERVER_ERROR.value();
+    }
+}
@@ -0,0 +1,11 @@
+package my.application.individuals_api.audit;
+
+import java.time.Instant;
+
+public record AuditRecord(
+        Instant timestamp,
+        AuditEventType type,
+        boolean success,
+        int status,
+        String subject
+) {}
@@ -0,0 +1,152 @@
+package my.application.individuals_api.audit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Preallocated multi-producer, single-consumer ring of fixed-size audit events. Producers claim a slot with a
+ * CAS on the tail sequence, copy the event into the slot's columns and publish the slot by storing its
+ * sequence; the consumer reads slots in order and frees them by advancing the head. Nothing is allocated
+ * per event. When the ring is full the event is dropped: publishers run on event-loop threads and must not wait.
+ */
+class AuditRingBuffer {
+
+    static final int SUBJECT_CAPACITY = 112;
+
+    interface Handler {
+        void onEvent(long timestamp, int type, boolean success, int status, byte[] subjects, int subjectOffset, int subjectLength);
+    }
+
+    private final int capacity;
+    private final int mask;
+
+    private final long[] timestamps;
+    private final byte[] types;
+    private final boolean[] successes;
+    private final short[] statuses;
+    private final byte[] subjects;
+    private final byte[] subjectLengths;
+    private final AtomicLongArray published;
+
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+
+    AuditRingBuffer(int requestedCapacity) {
+        this.capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+        this.mask = capacity - 1;
+        this.timestamps = new long[capacity];
+        this.types = new byte[capacity];
+        this.successes = new boolean[capacity];
+        this.statuses = new short[capacity];
+        this.subjects = new byte[capacity * SUBJECT_CAPACITY];
+        this.subjectLengths = new byte[capacity];
+        this.published = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            published.set(i, -1);
+        }
+    }
+
+    boolean publish(long timestamp, AuditEventType type, boolean success, int status, String subject) {
+        long sequence = claim();
+        if (sequence < 0) {
+            return false;
+        }
+        int slot = (int) (sequence & mask);
+        timestamps[slot] = timestamp;
+        types[slot] = (byte) type.ordinal();
+        successes[slot] = success;
+        statuses[slot] = (short) status;
+        subjectLengths[slot] = (byte) writeUtf8(subject, subjects, slot * SUBJECT_CAPACITY);
+        published.lazySet(slot, sequence);
+        return true;
+    }
+
+    // The head is advanced past every event whose handler returned, even when a later one throws: the failed
+    // event is the first one handed out by the next drain and the events before it are not written twice.
+    int drain(Handler handler, int maxEvents) {
+        long sequence = head;
+        int drained = 0;
+        try {
+            while (drained < maxEvents) {
+                int slot = (int) (sequence & mask);
+                if (published.get(slot) != sequence) {
+                    break;
+                }
+                handler.onEvent(timestamps[slot], types[slot], successes[slot], statuses[slot],
+                        subjects, slot * SUBJECT_CAPACITY, subjectLengths[slot] & 0xFF);
+                sequence++;
+                drained++;
+            }
+        } finally {
+            if (drained > 0) {
+                head = sequence;
+            }
+        }
+        return drained;
+    }
+
+    int size() {
+        return (int) (tail.get() - head);
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    private long claim() {
+        while (true) {
+            long current = tail.get();
+            if (current - head >= capacity) {
+                return -1;
+            }
+            if (tail.compareAndSet(current, current + 1)) {
+                return current;
+            }
+        }
+    }
+
+    // UTF-8 encodes into the slot, truncating at a character boundary once the slot is full.
+    private static int writeUtf8(String value, byte[] target, int offset) {
+        if (value == null) {
+            return 0;
+        }
+        int position = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                if (position + 1 > SUBJECT_CAPACITY) {
+                    break;
+                }
+                target[offset + position++] = (byte) c;
+            } else if (c < 0x800) {
+                if (position + 2 > SUBJECT_CAPACITY) {
+                    break;
+                }
+                target[offset + position++] = (byte) (0xC0 | (c >> 6));
+                target[offset + position++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                if (position + 4 > SUBJECT_CAPACITY) {
+                    break;
+                }
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                target[offset + position++] = (byte) (0xF0 | (codePoint >> 18));
+                target[offset + position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                target[offset + position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                target[offset + position++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                if (position + 1 > SUBJECT_CAPACITY) {
+                    break;
+                }
+                target[offset + position++] = '?';
+            } else {
+                if (position + 3 > SUBJECT_CAPACITY) {
+                    break;
+                }
+                target[offset + position++] = (byte) (0xE0 | (c >> 12));
+                target[offset + position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                target[offset + position++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        return position;
+    }
+}
@@ -0,0 +1,65 @@
+package my.application.individuals_api.audit;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.function.Consumer;
+
+import static my.application.individuals_api.audit.AuditSegmentWriter.HEADER_SIZE;
+import static my.application.individuals_api.audit.AuditSegmentWriter.INT;
+import static my.application.individuals_api.audit.AuditSegmentWriter.LONG;
+import static my.application.individuals_api.audit.AuditSegmentWriter.MAGIC;
+import static my.application.individuals_api.audit.AuditSegmentWriter.RECORD_SIZE;
+import static my.application.individuals_api.audit.AuditSegmentWriter.SHORT;
+
+/**
+ * Scans audit segment files in write order.
+ *
+ * <pre>
+ * ./gradlew readAuditSegments -PauditDir=audit
+ * </pre>
+ */
+public class AuditSegmentReader {
+
+    private static final AuditEventType[] TYPES = AuditEventType.values();
+
+    public static void main(String[] args) throws IOException {
+        Path directory = Path.of(args.length > 0 ? args[0] : "audit");
+        for (Path segment : AuditSegmentWriter.listSegments(directory)) {
+            scan(segment, record -> System.out.printf("%s %s %s %d %s%n",
+                    record.timestamp(), record.type(), record.success() ? "SUCCESS" : "FAILURE", record.status(), record.subject()));
+        }
+    }
+
+    public static void scan(Path segmentFile, Consumer<AuditRecord> consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(segmentFile, StandardOpenOption.READ);
+             Arena arena = Arena.ofConfined()) {
+            MemorySegment segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena);
+            long size = segment.byteSize();
+            if (size < HEADER_SIZE || segment.get(INT, 0) != MAGIC || segment.get(INT, 8) != RECORD_SIZE) {
+                throw new IOException("Not an audit segment: " + segmentFile);
+            }
+            byte[] subject = new byte[AuditRingBuffer.SUBJECT_CAPACITY];
+            for (long position = HEADER_SIZE; position + RECORD_SIZE <= size; position += RECORD_SIZE) {
+                long timestamp = segment.get(LONG, position);
+                if (timestamp == 0) {
+                    break;
+                }
+                int subjectLength = Math.max(0, Math.min(segment.get(INT, position + 12), subject.length));
+                MemorySegment.copy(segment, ValueLayout.JAVA_BYTE, position + 16, subject, 0, subjectLength);
+                consumer.accept(new AuditRecord(
+                        Instant.ofEpochMilli(timestamp),
+                        TYPES[segment.get(ValueLayout.JAVA_BYTE, position + 8)],
+                        segment.get(ValueLayout.JAVA_BYTE, position + 9) == 1,
+                        segment.get(SHORT, position + 10),
+                        new String(subject, 0, subjectLength, StandardCharsets.UTF_8)));
+            }
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package my.application.individuals_api.audit;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Appends fixed-size audit records to memory-mapped segment files, rotating to a new file when the current one
+ * is full and deleting the oldest ones beyond the retention limit. Only the consumer thread touches it, so each
+ * segment is mapped in a confined arena that is closed, and the file unmapped, as soon as the writer rotates away.
+ *
+ * <p>Segment layout (big-endian): a {@value #HEADER_SIZE}-byte header (magic, version, record size, reserved,
+ * creation time) followed by {@value #RECORD_SIZE}-byte records: timestamp (long), type (byte), success (byte),
+ * status (short), subject length (int) and the UTF-8 subject. A zero timestamp marks the end of written data.
+ */
+@Slf4j
+class AuditSegmentWriter implements AutoCloseable {
+
+    static final int MAGIC = 0x41554454;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 64;
+    static final int RECORD_SIZE = 16 + AuditRingBuffer.SUBJECT_CAPACITY;
+    static final String SEGMENT_PREFIX = "audit-";
+    static final String SEGMENT_SUFFIX = ".seg";
+
+    static final ValueLayout.OfLong LONG = ValueLayout.JAVA_LONG.withOrder(ByteOrder.BIG_ENDIAN);
+    static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT.withOrder(ByteOrder.BIG_ENDIAN);
+    static final ValueLayout.OfShort SHORT = ValueLayout.JAVA_SHORT.withOrder(ByteOrder.BIG_ENDIAN);
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int maxSegments;
+
+    private Arena arena;
+    private MemorySegment segment;
+    private int position;
+    private long segmentIndex;
+
+    AuditSegmentWriter(Path directory, long segmentSize, int maxSegments) {
+        this.directory = directory;
+        this.segmentSize = (int) Math.min(Integer.MAX_VALUE,
+                HEADER_SIZE + Math.max(1, (segmentSize - HEADER_SIZE) / RECORD_SIZE) * RECORD_SIZE);
+        this.maxSegments = maxSegments;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create audit directory " + directory, e);
+        }
+    }
+
+    void append(long timestamp, int type, boolean success, int status, byte[] subjects, int subjectOffset, int subjectLength) {
+        if (segment == null || position + RECORD_SIZE > segmentSize) {
+            rotate();
+        }
+        segment.set(LONG, position, timestamp);
+        segment.set(ValueLayout.JAVA_BYTE, position + 8, (byte) type);
+        segment.set(ValueLayout.JAVA_BYTE, position + 9, (byte) (success ? 1 : 0));
+        segment.set(SHORT, position + 10, (short) status);
+        segment.set(INT, position + 12, subjectLength);
+        MemorySegment.copy(subjects, subjectOffset, segment, ValueLayout.JAVA_BYTE, position + 16, subjectLength);
+        position += RECORD_SIZE;
+    }
+
+    @Override
+    public void close() {
+        if (segment != null) {
+            try {
+                segment.force();
+            } finally {
+                arena.close();
+                arena = null;
+                segment = null;
+            }
+        }
+    }
+
+    private void rotate() {
+        close();
+        long createdAt = System.currentTimeMillis();
+        Path file = directory.resolve(String.format("%s%013d-%06d%s", SEGMENT_PREFIX, createdAt, segmentIndex++ % 1_000_000, SEGMENT_SUFFIX));
+        Arena mapping = Arena.ofConfined();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize, mapping);
+            arena = mapping;
+        } catch (IOException e) {
+            mapping.close();
+            throw new UncheckedIOException("Cannot create audit segment " + file, e);
+        }
+        segment.set(INT, 0, MAGIC);
+        segment.set(INT, 4, VERSION);
+        segment.set(INT, 8, RECORD_SIZE);
+        segment.set(LONG, 16, createdAt);
+        position = HEADER_SIZE;
+        deleteExpiredSegments();
+    }
+
+    private void deleteExpiredSegments() {
+        List<Path> segments = listSegments(directory);
+        for (int i = 0; i < segments.size() - maxSegments; i++) {
+            try {
+                Files.deleteIfExists(segments.get(i));
+            } catch (IOException e) {
+                log.warn("Cannot delete expired audit segment {}: {}", segments.get(i), e.getMessage());
+            }
+        }
+    }
+
+    static List<Path> listSegments(Path directory) {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> {
+                        String name = file.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot list audit segments in " + directory, e);
+        }
+    }
+}
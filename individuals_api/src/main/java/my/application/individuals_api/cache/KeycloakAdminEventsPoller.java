@@ -0,0 +1,275 @@
+package my.application.individuals_api.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import my.application.individuals_api.exception.AuthException;
+import my.application.individuals_api.integration.KeycloakIntegration;
+import my.application.individuals_api.model.KeycloakAdminEventRepresentation;
+import my.application.individuals_api.service.RegisteredEmailIndex;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reads Keycloak admin events newer than a persisted cursor, invalidates exactly the cache entries they affect and
+ * keeps {@link RegisteredEmailIndex} in step with created, updated and deleted users. Requires admin events to be
+ * enabled for the realm and the {@code view-events} role for the admin user. The realm setting is read once at
+ * startup; while it is off, or while polls fail, the index confirms its hits with Keycloak.
+ *
+ * <p>Events are requested from the cursor's day onwards, newest first, until a page reaches past the cursor.
+ * Events at exactly the cursor time are read again on the next poll, so one that was stored in the same
+ * millisecond after the previous poll is not lost; those already applied are remembered and skipped.
+ *
+ * <p>The cursor is persisted only when {@code keycloak.admin-events.cursor-file} is set. Without it a restart begins
+ * shortly before startup, which loses nothing the freshly started caches could hold.
+ */
+@Slf4j
+@Component
+public class KeycloakAdminEventsPoller implements DisposableBean {
+
+    // Start slightly in the past on the first run, in case Keycloak's clock is behind ours.
+    private static final Duration INITIAL_LOOKBACK = Duration.ofMinutes(1);
+    private static final String USERS_PATH_PREFIX = "users/";
+
+    private final KeycloakIntegration keycloakIntegration;
+    private final KeycloakUserCache userCache;
+    private final RegisteredEmailIndex registeredEmailIndex;
+    private final boolean enabled;
+    private final Duration pollInterval;
+    private final int pageSize;
+    private final Path cursorFile;
+    private final Counter appliedEvents;
+
+    private long cursor;
+    private Set<String> appliedAtCursor = Set.of();
+    private Disposable polling = Disposables.disposed();
+    private volatile boolean receivingEvents;
+
+    public KeycloakAdminEventsPoller(KeycloakIntegration keycloakIntegration,
+                                     KeycloakUserCache userCache,
+                                     RegisteredEmailIndex registeredEmailIndex,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${keycloak.admin-events.enabled}") boolean enabled,
+                                     @Value("${keycloak.admin-events.poll-interval}") Duration pollInterval,
+                                     @Value("${keycloak.admin-events.page-size}") int pageSize,
+                                     @Value("${keycloak.admin-events.cursor-file}") String cursorFile) {
+        this.keycloakIntegration = keycloakIntegration;
+        this.userCache = userCache;
+        this.registeredEmailIndex = registeredEmailIndex;
+        this.enabled = enabled;
+        this.pollInterval = pollInterval;
+        this.pageSize = pageSize;
+        this.cursorFile = cursorFile.isBlank() ? null : Path.of(cursorFile);
+        this.appliedEvents = Counter.builder("keycloak.admin-events.applied")
+                .description("Keycloak admin events that invalidated cache entries")
+                .register(meterRegistry);
+        this.cursor = readCursor();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        polling = realmAdminEventsEnabled()
+                .flatMapMany(realmEnabled -> Flux.interval(Duration.ZERO, pollInterval)
+                        .onBackpressureDrop()
+                        .concatMap(tick -> poll()
+                                .doOnSuccess(ignored -> setReceivingEvents(realmEnabled))
+                                .onErrorResume(e -> {
+                                    log.warn("Keycloak admin events poll failed: {}", e.getMessage());
+                                    setReceivingEvents(false);
+                                    return Mono.empty();
+                                })))
+                .subscribe();
+    }
+
+    /**
+     * Whether changes in Keycloak currently reach the caches within a poll interval.
+     */
+    public boolean isReceivingEvents() {
+        return receivingEvents;
+    }
+
+    @Override
+    public void destroy() {
+        polling.dispose();
+    }
+
+    private Mono<Boolean> realmAdminEventsEnabled() {
+        return keycloakIntegration.getEventsConfig()
+                .map(config -> Boolean.TRUE.equals(config.adminEventsEnabled()))
+                .onErrorResume(e -> {
+                    log.warn("Cannot read the realm events config, treating admin events as disabled: {}", e.getMessage());
+                    return Mono.just(false);
+                })
+                .doOnNext(realmEnabled -> {
+                    if (!realmEnabled) {
+                        log.warn("Admin events are disabled for the realm, so Keycloak changes are not seen until cache "
+                                + "entries expire. Enable saving admin events in the realm's event settings.");
+                    }
+                });
+    }
+
+    private void setReceivingEvents(boolean receiving) {
+        if (receivingEvents != receiving) {
+            log.info("Keycloak admin events {}", receiving ? "are being received" : "are not being received");
+        }
+        receivingEvents = receiving;
+        userCache.setReceivingEvents(receiving);
+        registeredEmailIndex.setEvictionActive(receiving);
+    }
+
+    Mono<Void> poll() {
+        long since = cursor;
+        LocalDate dateFrom = Instant.ofEpochMilli(since).atZone(ZoneOffset.UTC).toLocalDate();
+        return Flux.range(0, Integer.MAX_VALUE)
+                .concatMap(page -> keycloakIntegration.getAdminEvents(dateFrom, page * pageSize, pageSize))
+                .takeUntil(page -> page.size() < pageSize || page.stream().anyMatch(event -> time(event) < since))
+                .flatMapIterable(page -> page)
+                .filter(event -> time(event) >= since)
+                .collectSortedList(Comparator.comparingLong(KeycloakAdminEventRepresentation::time))
+                .flatMap(events -> apply(events, since));
+    }
+
+    private Mono<Void> apply(List<KeycloakAdminEventRepresentation> events, long since) {
+        long newest = since;
+        Set<String> atNewest = new HashSet<>(appliedAtCursor);
+        List<Mono<Void>> indexUpdates = new ArrayList<>();
+        for (KeycloakAdminEventRepresentation event : events) {
+            String key = event.time() + " " + event.operationType() + " " + event.resourceType() + " " + event.resourcePath();
+            if (event.time() == since && appliedAtCursor.contains(key)) {
+                continue;
+            }
+            indexUpdates.add(invalidate(event));
+            appliedEvents.increment();
+            if (event.time() > newest) {
+                newest = event.time();
+                atNewest = new HashSet<>();
+            }
+            atNewest.add(key);
+        }
+        appliedAtCursor = atNewest;
+        Mono<Void> updated = Flux.concat(indexUpdates).then();
+        if (newest == since) {
+            return updated;
+        }
+        cursor = newest;
+        if (cursorFile == null) {
+            return updated;
+        }
+        long persisted = newest;
+        return updated.then(Mono.fromRunnable(() -> writeCursor(persisted))
+                .subscribeOn(Schedulers.boundedElastic())
+                .then());
+    }
+
+    // Invalidates the affected cache entries right away; returns the registration index update, which may need the
+    // user's current email from Keycloak.
+    private Mono<Void> invalidate(KeycloakAdminEventRepresentation event) {
+        if (event.resourceType() == null) {
+            return Mono.empty();
+        }
+        String userId = userId(event.resourcePath());
+        switch (event.resourceType()) {
+            case "USER" -> {
+                if (userId != null) {
+                    userCache.invalidateUser(userId);
+                    return updateRegisteredEmail(event.operationType(), userId);
+                }
+            }
+            // Only direct realm mappings are cached; group and client role mappings do not change them.
+            case "REALM_ROLE_MAPPING" -> {
+                if (userId != null) {
+                    userCache.invalidateRoles(userId);
+                }
+            }
+            // A renamed or deleted role can appear in any user's mappings.
+            case "REALM_ROLE" -> userCache.invalidateAllRoles();
+            case "REALM" -> userCache.invalidateAll();
+            default -> {
+            }
+        }
+        return Mono.empty();
+    }
+
+    // An updated user's old email is evicted before the current one is read, so a failed read leaves a miss, which
+    // only costs a user create that Keycloak rejects, never a stale 409. Users registered through this service are
+    // already indexed when their CREATE event arrives.
+    private Mono<Void> updateRegisteredEmail(String operationType, String userId) {
+        if ("DELETE".equals(operationType)) {
+            registeredEmailIndex.removeUser(userId);
+            return Mono.empty();
+        }
+        if ("UPDATE".equals(operationType)) {
+            registeredEmailIndex.removeUser(userId);
+        } else if (!"CREATE".equals(operationType) || registeredEmailIndex.containsUser(userId)) {
+            return Mono.empty();
+        }
+        return userCache.getUser(userId)
+                .filter(user -> user.email() != null && !user.email().isEmpty())
+                .doOnNext(user -> registeredEmailIndex.add(userId, user.email()))
+                .onErrorResume(e -> {
+                    if (!(e instanceof AuthException)) {
+                        log.warn("Cannot read user {} for the registration index: {}", userId, e.getMessage());
+                    }
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private static String userId(String resourcePath) {
+        if (resourcePath == null || !resourcePath.startsWith(USERS_PATH_PREFIX)) {
+            return null;
+        }
+        int end = resourcePath.indexOf('/', USERS_PATH_PREFIX.length());
+        return resourcePath.substring(USERS_PATH_PREFIX.length(), end < 0 ? resourcePath.length() : end);
+    }
+
+    private static long time(KeycloakAdminEventRepresentation event) {
+        return event.time() != null ? event.time() : Long.MIN_VALUE;
+    }
+
+    private long readCursor() {
+        try {
+            if (cursorFile != null && Files.exists(cursorFile)) {
+                return Long.parseLong(Files.readString(cursorFile).trim());
+            }
+        } catch (IOException | NumberFormatException e) {
+            log.warn("Cannot read admin events cursor {}, starting from now: {}", cursorFile, e.getMessage());
+        }
+        return Instant.now().minus(INITIAL_LOOKBACK).toEpochMilli();
+    }
+
+    private void writeCursor(long value) {
+        Path temporary = cursorFile.resolveSibling(cursorFile.getFileName() + ".tmp");
+        try {
+            Files.writeString(temporary, Long.toString(value));
+            Files.move(temporary, cursorFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Cannot persist admin events cursor {}: {}", cursorFile, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package my.application.individuals_api.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import my.application.individuals_api.integration.KeycloakIntegration;
+import my.application.individuals_api.model.KeycloakUserRepresentation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Users and realm role mappings read from the Keycloak admin API. Concurrent misses for the same user share one
+ * Keycloak call. While {@link KeycloakAdminEventsPoller} receives admin events it invalidates entries as soon as
+ * Keycloak reports a change, so new entries live for the long {@code keycloak.cache.ttl}; otherwise they live for
+ * {@code keycloak.cache.ttl-without-events}, and everything cached is dropped when events stop arriving.
+ */
+@Component
+public class KeycloakUserCache {
+
+    private final KeycloakIntegration keycloakIntegration;
+    private final AsyncCache<String, KeycloakUserRepresentation> users;
+    private final AsyncCache<String, List<String>> roles;
+    private final long ttlNanos;
+    private final long ttlWithoutEventsNanos;
+    private volatile boolean receivingEvents;
+
+    public KeycloakUserCache(KeycloakIntegration keycloakIntegration,
+                             MeterRegistry meterRegistry,
+                             @Value("${keycloak.cache.ttl}") Duration ttl,
+                             @Value("${keycloak.cache.ttl-without-events}") Duration ttlWithoutEvents,
+                             @Value("${keycloak.cache.maximum-size}") long maximumSize) {
+        this.keycloakIntegration = keycloakIntegration;
+        this.ttlNanos = ttl.toNanos();
+        this.ttlWithoutEventsNanos = ttlWithoutEvents.toNanos();
+        this.users = Caffeine.newBuilder()
+                .expireAfter(new EventAwareExpiry<String, KeycloakUserRepresentation>())
+                .maximumSize(maximumSize)
+                .recordStats()
+                .buildAsync();
+        this.roles = Caffeine.newBuilder()
+                .expireAfter(new EventAwareExpiry<String, List<String>>())
+                .maximumSize(maximumSize)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, users.synchronous(), "keycloak.users");
+        CaffeineCacheMetrics.monitor(meterRegistry, roles.synchronous(), "keycloak.roles");
+    }
+
+    public Mono<KeycloakUserRepresentation> getUser(String userId) {
+        return load(users, userId, keycloakIntegration::getUserById);
+    }
+
+    public Mono<List<String>> getRoles(String userId) {
+        return load(roles, userId, keycloakIntegration::getRolesByUserId);
+    }
+
+    /**
+     * Set by the admin events poller. Entries cached under the long TTL are dropped when events stop arriving,
+     * since changes made from then on would go unnoticed.
+     */
+    public void setReceivingEvents(boolean receiving) {
+        boolean wasReceiving = receivingEvents;
+        receivingEvents = receiving;
+        if (wasReceiving && !receiving) {
+            invalidateAll();
+        }
+    }
+
+    public void invalidateUser(String userId) {
+        users.synchronous().invalidate(userId);
+        roles.synchronous().invalidate(userId);
+    }
+
+    public void invalidateRoles(String userId) {
+        roles.synchronous().invalidate(userId);
+    }
+
+    public void invalidateAllRoles() {
+        roles.synchronous().invalidateAll();
+    }
+
+    public void invalidateAll() {
+        users.synchronous().invalidateAll();
+        roles.synchronous().invalidateAll();
+    }
+
+    // Expires entries a fixed time after they are loaded, with the TTL in force at that moment.
+    private class EventAwareExpiry<K, V> implements Expiry<K, V> {
+
+        @Override
+        public long expireAfterCreate(K key, V value, long currentTime) {
+            return receivingEvents ? ttlNanos : ttlWithoutEventsNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(K key, V value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(K key, V value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    // The loading call keeps the context of the request that missed, so its timings and events are recorded.
+    // Cancelling one waiter must not cancel the load the others share.
+    private static <V> Mono<V> load(AsyncCache<String, V> cache, String key, Function<String, Mono<V>> loader) {
+        return Mono.deferContextual(context -> Mono.fromFuture(
+                () -> cache.get(key, (k, executor) -> loader.apply(k).contextWrite(context).toFuture()), true));
+    }
+}
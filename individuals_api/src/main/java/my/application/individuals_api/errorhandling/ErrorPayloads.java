@@ -0,0 +1,88 @@
+package my.application.individuals_api.errorhandling;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import my.application.individuals_api.response.ErrorResponse;
+import my.application.individuals_api.utils.Messages;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * {@link ErrorResponse} bodies for the fixed messages in {@link Messages}, serialized once per status and
+ * shared by every response afterwards. The arrays are handed to the response as-is and must never be written to.
+ */
+public final class ErrorPayloads {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final Set<String> FIXED_MESSAGES = fixedMessages();
+    private static final Map<HttpStatus, Map<String, Payload>> PAYLOADS = new EnumMap<>(HttpStatus.class);
+
+    static {
+        for (HttpStatus status : HttpStatus.values()) {
+            PAYLOADS.put(status, new ConcurrentHashMap<>());
+        }
+    }
+
+    private ErrorPayloads() {
+    }
+
+    public static byte[] body(String message, HttpStatus status) {
+        return payload(message, status).body();
+    }
+
+    public static Mono<ResponseEntity<byte[]>> response(String message, HttpStatus status) {
+        return payload(message, status).response();
+    }
+
+    private static Payload payload(String message, HttpStatus status) {
+        if (!FIXED_MESSAGES.contains(message)) {
+            return Payload.of(message, status);
+        }
+        Map<String, Payload> payloads = PAYLOADS.get(status);
+        Payload payload = payloads.get(message);
+        if (payload == null) {
+            payload = payloads.computeIfAbsent(message, m -> Payload.of(m, status));
+        }
+        return payload;
+    }
+
+    private record Payload(byte[] body, Mono<ResponseEntity<byte[]>> response) {
+
+        static Payload of(String message, HttpStatus status) {
+            try {
+                byte[] body = OBJECT_MAPPER.writeValueAsBytes(new ErrorResponse(message, status.value()));
+                return new Payload(body, Mono.just(ResponseEntity.status(status)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(body)));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private static Set<String> fixedMessages() {
+        return Stream.of(Messages.class.getDeclaredFields())
+                .filter(field -> Modifier.isStatic(field.getModifiers()) && field.getType() == String.class)
+                .map(ErrorPayloads::constantValue)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    private static String constantValue(Field field) {
+        try {
+            return (String) field.get(null);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
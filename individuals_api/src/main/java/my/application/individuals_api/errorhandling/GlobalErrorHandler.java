@@ -1,31 +1,46 @@
 package my.application.individuals_api.errorhandling;
 
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import my.application.individuals_api.exception.AuthException;
-import my.application.individuals_api.response.ErrorResponse;
+import my.application.individuals_api.logging.StackTraceRateLimiter;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.reactive.result.method.annotation.ResponseEntityExceptionHandler;
 import reactor.core.publisher.Mono;
 
+import static my.application.individuals_api.utils.Messages.ACCESS_DENIED;
+import static my.application.individuals_api.utils.Messages.UNEXPECTED_SERVER_ERROR;
+
 @Slf4j
 @ControllerAdvice
+@RequiredArgsConstructor
 public class GlobalErrorHandler extends ResponseEntityExceptionHandler {
+    private final StackTraceRateLimiter stackTraceRateLimiter;
+
+    @ExceptionHandler
+    public Mono<ResponseEntity<byte[]>> handleBusinessException(AuthException ex) {
+        // Routine outcomes (wrong password, duplicate email, expired token): not worth a log line per request.
+        log.debug("AuthException occurred: {} - Status: {}", ex.getMessage(), ex.getStatus());
+        return ErrorPayloads.response(ex.getMessage(), ex.getStatus());
+    }
+
     @ExceptionHandler
-    public Mono<ResponseEntity<ErrorResponse>> handleBusinessException(AuthException ex) {
-        log.error("AuthException occurred: {} - Status: {}", ex.getMessage(), ex.getStatus());
-        return Mono.just(ResponseEntity
-                .status(ex.getStatus())
-                .body(new ErrorResponse(ex.getMessage(), ex.getStatus().value())));
+    public Mono<ResponseEntity<byte[]>> handleAccessDenied(AccessDeniedException ex) {
+        return ErrorPayloads.response(ACCESS_DENIED, HttpStatus.FORBIDDEN);
     }
 
     @ExceptionHandler
-    public Mono<ResponseEntity<ErrorResponse>> handleAllExceptions(Exception ex) {
-        log.error("Unexpected exception occurred: {}", ex.getMessage(), ex);
-        return Mono.just(ResponseEntity
-                .status(HttpStatus.INTERNAL_SERVER_ERROR)
-                .body(new ErrorResponse("Unexpected server error: " + ex.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR.value())));
+    public Mono<ResponseEntity<byte[]>> handleAllExceptions(Exception ex) {
+        if (stackTraceRateLimiter.tryAcquire()) {
+            log.error("Unexpected exception occurred: {}", ex.getMessage(), ex);
+        } else {
+            log.error("Unexpected exception occurred: {}: {}", ex.getClass().getName(), ex.getMessage());
+        }
+        // The message stays in the log; it can carry internals (hosts, SQL, payload fragments) the caller must not see.
+        return ErrorPayloads.response(UNEXPECTED_SERVER_ERROR, HttpStatus.INTERNAL_SERVER_ERROR);
     }
 }
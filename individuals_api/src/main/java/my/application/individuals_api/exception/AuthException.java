@@ -8,8 +8,9 @@ public class AuthException extends RuntimeException {
 
     private final HttpStatus status;
 
+    // Expected business outcome rather than a bug: no stack trace or suppressed exceptions are captured.
     public AuthException(String message, HttpStatus status) {
-        super(message);
+        super(message, null, false, false);
         this.status = status;
     }
 
@@ -1,10 +1,10 @@
 package my.application.individuals_api.integration;
 
+import my.application.individuals_api.jfr.JfrEvents;
+import my.application.individuals_api.timing.RequestTimings;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Mono;
-import reactor.util.retry.Retry;
 
-import java.time.Duration;
 import java.time.Instant;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.ReentrantLock;
@@ -13,13 +13,15 @@ import java.util.concurrent.locks.ReentrantLock;
 public class KeycloakAdminTokenHolder {
 
     private final KeycloakIntegration integration;
+    private final KeycloakRetryPolicy retryPolicy;
     private final ReentrantLock lock = new ReentrantLock();
 
     private final AtomicReference<String> token = new AtomicReference<>("");
     private final AtomicReference<Instant> expiredAt = new AtomicReference<>(Instant.ofEpochMilli(1));
 
-    public KeycloakAdminTokenHolder(KeycloakIntegration integration) {
+    public KeycloakAdminTokenHolder(KeycloakIntegration integration, KeycloakRetryPolicy retryPolicy) {
         this.integration = integration;
+        this.retryPolicy = retryPolicy;
     }
 
     public Mono<String> getAdminToken() {
@@ -30,7 +32,8 @@ public class KeycloakAdminTokenHolder {
     }
 
     private Mono<String> refreshToken() {
-        return integration.getNewAdminAccessToken()
+        return JfrEvents.adminTokenRefresh(RequestTimings.timed("kc-admin-token", JfrEvents.keycloakCall("refreshAdminToken",
+                retryPolicy.withRetries("refreshAdminToken", integration.getNewAdminAccessToken()
                 .flatMap(tokenResponse -> {
                     lock.lock();
                     try {
@@ -40,7 +43,6 @@ public class KeycloakAdminTokenHolder {
                     } finally {
                         lock.unlock();
                     }
-                })
-                .retryWhen(Retry.backoff(3, Duration.ofSeconds(1)));
+                })))));
     }
 }
@@ -1,27 +1,28 @@
 package my.application.individuals_api.integration;
 
 import my.application.individuals_api.exception.AuthException;
+import my.application.individuals_api.jfr.JfrEvents;
+import my.application.individuals_api.model.KeycloakAdminEventRepresentation;
+import my.application.individuals_api.model.KeycloakEventsConfigRepresentation;
 import my.application.individuals_api.model.KeycloakRoleRepresentation;
-import my.application.individuals_api.model.KeycloakUserCreateBody;
 import my.application.individuals_api.model.KeycloakUserRepresentation;
 import my.application.individuals_api.response.AuthResponse;
+import my.application.individuals_api.timing.RequestTimings;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
-import org.springframework.util.LinkedMultiValueMap;
-import org.springframework.util.MultiValueMap;
 import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
-import reactor.util.retry.Retry;
 
-import java.time.Duration;
+import java.net.URI;
+import java.time.LocalDate;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import static my.application.individuals_api.utils.Messages.USER_ALREADY_EXISTS;
 import static my.application.individuals_api.utils.Messages.USER_NOT_FOUND;
@@ -32,98 +33,158 @@ public class KeycloakIntegration {
     @Value("${keycloak.realm}")
     private String realm;
 
-    @Value("${keycloak.client-id}")
-    private String clientId;
-
-    @Value("${keycloak.client-secret}")
-    private String clientSecret;
-
-    @Value("${keycloak.admin.username}")
-    private String adminUsername;
-
-    @Value("${keycloak.admin.password}")
-    private String adminPassword;
-
     private final WebClient webClient;
     private final KeycloakAdminTokenHolder adminTokenHolder;
+    private final KeycloakRequestEncoder requestEncoder;
+    private final KeycloakRetryPolicy retryPolicy;
 
     public KeycloakIntegration(@Value("${keycloak.auth-server-url}") String authServerUrl,
-                               @Lazy KeycloakAdminTokenHolder adminTokenHolder) {
+                               @Lazy KeycloakAdminTokenHolder adminTokenHolder,
+                               KeycloakRequestEncoder requestEncoder,
+                               KeycloakRetryPolicy retryPolicy) {
         this.webClient = WebClient.builder()
                 .baseUrl(authServerUrl)
                 .defaultHeader("Content-Type", "application/x-www-form-urlencoded")
+                .filter(JfrEvents.keycloakExchangeFilter())
                 .build();
         this.adminTokenHolder = adminTokenHolder;
+        this.requestEncoder = requestEncoder;
+        this.retryPolicy = retryPolicy;
     }
 
-    public Mono<AuthResponse> getUserToken(MultiValueMap<String, String> formData) {
-        formData.add(KeycloakConstants.CLIENT_ID, clientId);
-        formData.add(KeycloakConstants.CLIENT_SECRET, clientSecret);
-        return webClient
-                .post()
-                .uri("/realms/{realm}/protocol/openid-connect/token", realm)
-                .body(BodyInserters.fromFormData(formData))
+    public Mono<AuthResponse> getUserToken(String username, String password) {
+        return RequestTimings.timed("kc-login", JfrEvents.keycloakCall("getUserToken",
+                requestToken(requestEncoder.passwordGrant(username, password))));
+    }
+
+    public Mono<AuthResponse> refreshUserToken(String refreshToken) {
+        return RequestTimings.timed("kc-refresh", JfrEvents.keycloakCall("refreshUserToken",
+                requestToken(requestEncoder.refreshTokenGrant(refreshToken))));
+    }
+
+    public Mono<Void> logout(String refreshToken) {
+        return RequestTimings.timed("kc-logout", JfrEvents.keycloakCall("logout", webClient.post()
+                .uri("/realms/{realm}/protocol/openid-connect/logout", realm)
+                .body(BodyInserters.fromDataBuffers(requestEncoder.logoutBody(refreshToken)))
                 .retrieve()
-                .bodyToMono(AuthResponse.class);
+                .bodyToMono(Void.class)));
     }
 
-    public Mono<Void> createUser(String email, String password) {
+    /**
+     * Creates the user and returns its id, taken from the {@code Location} of the created resource.
+     */
+    public Mono<String> createUser(String email, String password) {
         return getAdminAccessToken()
-                .flatMap(adminAccessToken -> webClient.post()
+                .flatMap(adminAccessToken -> RequestTimings.timed("kc-create-user", JfrEvents.keycloakCall("createUser", retryPolicy.withConnectRetries("createUser", webClient.post()
                         .uri("/admin/realms/{realm}/users", realm)
                         .header(HttpHeaders.AUTHORIZATION, "Bearer " + adminAccessToken)
                         .contentType(MediaType.APPLICATION_JSON)
-                        .bodyValue(KeycloakUserCreateBody.from(email, password))
+                        .body(BodyInserters.fromDataBuffers(requestEncoder.userCreateBody(email, password)))
                         .exchangeToMono(clientResponse -> {
                             if (clientResponse.statusCode() == HttpStatus.CONFLICT) {
                                 return Mono.error(new AuthException(USER_ALREADY_EXISTS, HttpStatus.CONFLICT));
                             }
+                            if (clientResponse.statusCode().isError()) {
+                                return clientResponse.createError();
+                            }
 
-                            return clientResponse.bodyToMono(Void.class);
-                        })
-                        .retryWhen(Retry.backoff(3, Duration.ofSeconds(1))
-                                .filter(e -> Boolean.FALSE.equals(e instanceof AuthException))));
+                            URI location = clientResponse.headers().asHttpHeaders().getLocation();
+                            return clientResponse.releaseBody().then(Mono.justOrEmpty(location)
+                                    .map(uri -> uri.getPath().substring(uri.getPath().lastIndexOf('/') + 1)));
+                        })))));
     }
 
     public Mono<KeycloakUserRepresentation> getUserById(String userId) {
-        return getAdminAccessToken().flatMap(adminAccessToken -> webClient.get()
+        return getAdminAccessToken().flatMap(adminAccessToken -> RequestTimings.timed("kc-get-user", JfrEvents.keycloakCall("getUserById", retryPolicy.withRetries("getUserById", webClient.get()
                         .uri("/admin/realms/{realm}/users/{userId}", realm, userId)
                         .header(HttpHeaders.AUTHORIZATION, "Bearer " + adminAccessToken)
                         .retrieve()
                         .onRawStatus(status -> status == HttpStatus.NOT_FOUND.value(),
                                 response -> Mono.error(new AuthException(USER_NOT_FOUND, HttpStatus.NOT_FOUND)))
-                        .bodyToMono(KeycloakUserRepresentation.class))
-                .retryWhen(Retry.backoff(3, Duration.ofSeconds(1))
-                        .filter(e -> Boolean.FALSE.equals(e instanceof AuthException)));
+                        .bodyToMono(KeycloakUserRepresentation.class)))));
     }
 
+    /**
+     * Names of the user's realm roles, sorted so that responses and their ETags do not depend on Keycloak's order.
+     */
     public Mono<List<String>> getRolesByUserId(String userId) {
-        return getAdminAccessToken().flatMap(adminAccessToken -> webClient.get()
+        return getAdminAccessToken().flatMap(adminAccessToken -> RequestTimings.timed("kc-get-roles", JfrEvents.keycloakCall("getRolesByUserId", retryPolicy.withRetries("getRolesByUserId", webClient.get()
                         .uri("/admin/realms/{realm}/users/{userId}/role-mappings/realm", realm, userId)
                         .header(HttpHeaders.AUTHORIZATION, "Bearer " + adminAccessToken)
                         .retrieve()
+                        .onRawStatus(status -> status == HttpStatus.NOT_FOUND.value(),
+                                response -> Mono.error(new AuthException(USER_NOT_FOUND, HttpStatus.NOT_FOUND)))
                         .bodyToMono(new ParameterizedTypeReference<List<KeycloakRoleRepresentation>>() {
                         })
                         .map(roles -> roles.stream()
                                 .map(KeycloakRoleRepresentation::name)
-                                .collect(Collectors.toList())))
-                .retryWhen(Retry.backoff(3, Duration.ofSeconds(1))
-                        .filter(e -> Boolean.FALSE.equals(e instanceof AuthException)));
+                                .sorted()
+                                .toList())))));
+    }
+
+    public Mono<Boolean> existsUserWithEmail(String email) {
+        return getAdminAccessToken().flatMap(adminAccessToken -> RequestTimings.timed("kc-find-user", JfrEvents.keycloakCall("existsUserWithEmail", retryPolicy.withRetries("existsUserWithEmail", webClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/admin/realms/{realm}/users")
+                        .queryParam("email", "{email}")
+                        .queryParam("exact", true)
+                        .queryParam("briefRepresentation", true)
+                        .build(realm, email))
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + adminAccessToken)
+                .retrieve()
+                .bodyToMono(new ParameterizedTypeReference<List<KeycloakUserRepresentation>>() {
+                })
+                .map(users -> !users.isEmpty())))));
+    }
+
+    public Mono<List<KeycloakUserRepresentation>> getUsersPage(int first, int max) {
+        return getAdminAccessToken().flatMap(adminAccessToken -> JfrEvents.keycloakCall("getUsersPage", retryPolicy.withRetries("getUsersPage", webClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/admin/realms/{realm}/users")
+                        .queryParam("first", first)
+                        .queryParam("max", max)
+                        .queryParam("briefRepresentation", true)
+                        .build(realm))
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + adminAccessToken)
+                .retrieve()
+                .bodyToMono(new ParameterizedTypeReference<List<KeycloakUserRepresentation>>() {
+                }))));
+    }
+
+    public Mono<List<KeycloakAdminEventRepresentation>> getAdminEvents(LocalDate dateFrom, int first, int max) {
+        return getAdminAccessToken().flatMap(adminAccessToken -> JfrEvents.keycloakCall("getAdminEvents", retryPolicy.withRetries("getAdminEvents", webClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/admin/realms/{realm}/admin-events")
+                        .queryParam("dateFrom", dateFrom)
+                        .queryParam("first", first)
+                        .queryParam("max", max)
+                        .queryParam("direction", "desc")
+                        .build(realm))
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + adminAccessToken)
+                .retrieve()
+                .bodyToMono(new ParameterizedTypeReference<List<KeycloakAdminEventRepresentation>>() {
+                }))));
+    }
+
+    public Mono<KeycloakEventsConfigRepresentation> getEventsConfig() {
+        return getAdminAccessToken().flatMap(adminAccessToken -> JfrEvents.keycloakCall("getEventsConfig", retryPolicy.withRetries("getEventsConfig", webClient.get()
+                .uri("/admin/realms/{realm}/events/config", realm)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + adminAccessToken)
+                .retrieve()
+                .bodyToMono(KeycloakEventsConfigRepresentation.class))));
     }
 
     protected Mono<AuthResponse> getNewAdminAccessToken() {
-        return getUserToken(createAdminFormData());
+        return requestToken(requestEncoder.adminPasswordGrant());
     }
 
-    private Mono<String> getAdminAccessToken() {
-        return adminTokenHolder.getAdminToken();
+    private Mono<AuthResponse> requestToken(Mono<DataBuffer> formBody) {
+        return webClient
+                .post()
+                .uri("/realms/{realm}/protocol/openid-connect/token", realm)
+                .body(BodyInserters.fromDataBuffers(formBody))
+                .retrieve()
+                .bodyToMono(AuthResponse.class);
     }
 
-    private MultiValueMap<String, String> createAdminFormData() {
-        MultiValueMap<String, String> formData = new LinkedMultiValueMap<>();
-        formData.add(KeycloakConstants.GRANT_TYPE, KeycloakConstants.PASSWORD);
-        formData.add(KeycloakConstants.USERNAME, adminUsername);
-        formData.add(KeycloakConstants.PASSWORD, adminPassword);
-        return formData;
+    private Mono<String> getAdminAccessToken() {
+        return adminTokenHolder.getAdminToken();
     }
 }
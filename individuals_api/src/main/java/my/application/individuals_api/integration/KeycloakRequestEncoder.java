@@ -0,0 +1,274 @@
+package my.application.individuals_api.integration;
+
+import io.netty.buffer.PooledByteBufAllocator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.net.URLEncoder;
+import java.util.function.Consumer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Writes Keycloak request bodies straight into pooled buffers. Everything that does not depend on the
+ * request (client and admin credentials, grant types, the JSON skeleton of a new user) is encoded once
+ * at startup; per request only the user-supplied fields are escaped into the buffer.
+ */
+@Component
+public class KeycloakRequestEncoder {
+
+    private static final byte[] HEX = "0123456789ABCDEF".getBytes(UTF_8);
+
+    private static final byte[] PASSWORD_GRANT_PREFIX = bytes(KeycloakConstants.GRANT_TYPE + "=" + KeycloakConstants.PASSWORD
+            + "&" + KeycloakConstants.USERNAME + "=");
+    private static final byte[] PASSWORD_PARAM = bytes("&" + KeycloakConstants.PASSWORD + "=");
+    private static final byte[] REFRESH_GRANT_PREFIX = bytes(KeycloakConstants.GRANT_TYPE + "=" + KeycloakConstants.REFRESH_TOKEN
+            + "&" + KeycloakConstants.REFRESH_TOKEN + "=");
+    private static final byte[] LOGOUT_PREFIX = bytes(KeycloakConstants.REFRESH_TOKEN + "=");
+
+    private static final byte[] USER_BODY_USERNAME = bytes("{\"username\":\"");
+    private static final byte[] USER_BODY_EMAIL = bytes("\",\"email\":\"");
+    private static final byte[] USER_BODY_CREDENTIAL = bytes("\",\"enabled\":true,\"credentials\":[{\"type\":\""
+            + KeycloakConstants.PASSWORD + "\",\"value\":\"");
+    private static final byte[] USER_BODY_SUFFIX = bytes("\",\"temporary\":false}]}");
+
+    private final DataBufferFactory bufferFactory = new NettyDataBufferFactory(PooledByteBufAllocator.DEFAULT);
+
+    private final byte[] clientCredentials;
+    private final byte[] adminPasswordGrant;
+
+    public KeycloakRequestEncoder(@Value("${keycloak.client-id}") String clientId,
+                                  @Value("${keycloak.client-secret}") String clientSecret,
+                                  @Value("${keycloak.admin.username}") String adminUsername,
+                                  @Value("${keycloak.admin.password}") String adminPassword) {
+        this.clientCredentials = bytes("&" + KeycloakConstants.CLIENT_ID + "=" + formEncode(clientId)
+                + "&" + KeycloakConstants.CLIENT_SECRET + "=" + formEncode(clientSecret));
+        this.adminPasswordGrant = bytes(KeycloakConstants.GRANT_TYPE + "=" + KeycloakConstants.PASSWORD
+                + "&" + KeycloakConstants.USERNAME + "=" + formEncode(adminUsername)
+                + "&" + KeycloakConstants.PASSWORD + "=" + formEncode(adminPassword)
+                + new String(clientCredentials, UTF_8));
+    }
+
+    public Mono<DataBuffer> passwordGrant(String username, String password) {
+        int capacity = PASSWORD_GRANT_PREFIX.length + PASSWORD_PARAM.length + clientCredentials.length
+                + formEncodedLength(username) + formEncodedLength(password);
+        return encode(capacity, buffer -> {
+            buffer.write(PASSWORD_GRANT_PREFIX);
+            writeFormEncoded(buffer, username);
+            buffer.write(PASSWORD_PARAM);
+            writeFormEncoded(buffer, password);
+            buffer.write(clientCredentials);
+        });
+    }
+
+    public Mono<DataBuffer> refreshTokenGrant(String refreshToken) {
+        int capacity = REFRESH_GRANT_PREFIX.length + clientCredentials.length + formEncodedLength(refreshToken);
+        return encode(capacity, buffer -> {
+            buffer.write(REFRESH_GRANT_PREFIX);
+            writeFormEncoded(buffer, refreshToken);
+            buffer.write(clientCredentials);
+        });
+    }
+
+    public Mono<DataBuffer> logoutBody(String refreshToken) {
+        int capacity = LOGOUT_PREFIX.length + clientCredentials.length + formEncodedLength(refreshToken);
+        return encode(capacity, buffer -> {
+            buffer.write(LOGOUT_PREFIX);
+            writeFormEncoded(buffer, refreshToken);
+            buffer.write(clientCredentials);
+        });
+    }
+
+    public Mono<DataBuffer> adminPasswordGrant() {
+        return Mono.fromSupplier(() -> bufferFactory.wrap(adminPasswordGrant));
+    }
+
+    public Mono<DataBuffer> userCreateBody(String email, String password) {
+        int capacity = USER_BODY_USERNAME.length + USER_BODY_EMAIL.length + USER_BODY_CREDENTIAL.length
+                + USER_BODY_SUFFIX.length + 2 * jsonEscapedLength(email) + jsonEscapedLength(password);
+        return encode(capacity, buffer -> {
+            buffer.write(USER_BODY_USERNAME);
+            writeJsonEscaped(buffer, email);
+            buffer.write(USER_BODY_EMAIL);
+            writeJsonEscaped(buffer, email);
+            buffer.write(USER_BODY_CREDENTIAL);
+            writeJsonEscaped(buffer, password);
+            buffer.write(USER_BODY_SUFFIX);
+        });
+    }
+
+    // Buffers are sized exactly from these lengths, so a request body is written without growing its buffer.
+    private static int formEncodedLength(String value) {
+        int length = value.length();
+        int encoded = 0;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                    || c == '-' || c == '_' || c == '.' || c == '*' || c == ' ') {
+                encoded += 1;
+            } else if (c < 0x80) {
+                encoded += 3;
+            } else if (c < 0x800) {
+                encoded += 6;
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    i++;
+                    encoded += 12;
+                } else {
+                    encoded += 3;
+                }
+            } else {
+                encoded += 9;
+            }
+        }
+        return encoded;
+    }
+
+    private static int jsonEscapedLength(String value) {
+        int length = value.length();
+        int encoded = 0;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                encoded += 2;
+            } else if (c < 0x20) {
+                encoded += c == '\b' || c == '\f' || c == '\n' || c == '\r' || c == '\t' ? 2 : 6;
+            } else if (c < 0x80) {
+                encoded += 1;
+            } else if (c < 0x800) {
+                encoded += 2;
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    i++;
+                    encoded += 4;
+                } else {
+                    encoded += 1;
+                }
+            } else {
+                encoded += 3;
+            }
+        }
+        return encoded;
+    }
+
+    // Deferred so that every (re)subscription, e.g. a retry, gets its own buffer: the previous one is
+    // released by the HTTP client once written.
+    private Mono<DataBuffer> encode(int capacity, Consumer<DataBuffer> writer) {
+        return Mono.fromSupplier(() -> {
+                    DataBuffer buffer = bufferFactory.allocateBuffer(capacity);
+                    try {
+                        writer.accept(buffer);
+                        return buffer;
+                    } catch (RuntimeException e) {
+                        DataBufferUtils.release(buffer);
+                        throw e;
+                    }
+                })
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+    }
+
+    // Same output as URLEncoder.encode(value, UTF_8), which is what FormHttpMessageWriter produces; an unpaired
+    // surrogate becomes '?', as with URLEncoder's replacement.
+    private static void writeFormEncoded(DataBuffer buffer, String value) {
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                    || c == '-' || c == '_' || c == '.' || c == '*') {
+                buffer.write((byte) c);
+            } else if (c == ' ') {
+                buffer.write((byte) '+');
+            } else if (c < 0x80) {
+                writePercent(buffer, c);
+            } else if (c < 0x800) {
+                writePercent(buffer, 0xC0 | (c >> 6));
+                writePercent(buffer, 0x80 | (c & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                    writePercent(buffer, 0xF0 | (codePoint >> 18));
+                    writePercent(buffer, 0x80 | ((codePoint >> 12) & 0x3F));
+                    writePercent(buffer, 0x80 | ((codePoint >> 6) & 0x3F));
+                    writePercent(buffer, 0x80 | (codePoint & 0x3F));
+                } else {
+                    writePercent(buffer, '?');
+                }
+            } else {
+                writePercent(buffer, 0xE0 | (c >> 12));
+                writePercent(buffer, 0x80 | ((c >> 6) & 0x3F));
+                writePercent(buffer, 0x80 | (c & 0x3F));
+            }
+        }
+    }
+
+    private static void writePercent(DataBuffer buffer, int b) {
+        buffer.write((byte) '%');
+        buffer.write(HEX[(b >> 4) & 0xF]);
+        buffer.write(HEX[b & 0xF]);
+    }
+
+    // Same output as Jackson's string serializer for well-formed strings; Jackson rejects unpaired surrogates,
+    // which are written as '?' here.
+    private static void writeJsonEscaped(DataBuffer buffer, String value) {
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                buffer.write((byte) '\\');
+                buffer.write((byte) c);
+            } else if (c < 0x20) {
+                writeJsonControl(buffer, c);
+            } else if (c < 0x80) {
+                buffer.write((byte) c);
+            } else if (c < 0x800) {
+                buffer.write((byte) (0xC0 | (c >> 6)));
+                buffer.write((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                    buffer.write((byte) (0xF0 | (codePoint >> 18)));
+                    buffer.write((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                    buffer.write((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                    buffer.write((byte) (0x80 | (codePoint & 0x3F)));
+                } else {
+                    buffer.write((byte) '?');
+                }
+            } else {
+                buffer.write((byte) (0xE0 | (c >> 12)));
+                buffer.write((byte) (0x80 | ((c >> 6) & 0x3F)));
+                buffer.write((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+    }
+
+    private static void writeJsonControl(DataBuffer buffer, char c) {
+        buffer.write((byte) '\\');
+        switch (c) {
+            case '\b' -> buffer.write((byte) 'b');
+            case '\f' -> buffer.write((byte) 'f');
+            case '\n' -> buffer.write((byte) 'n');
+            case '\r' -> buffer.write((byte) 'r');
+            case '\t' -> buffer.write((byte) 't');
+            default -> {
+                buffer.write((byte) 'u');
+                buffer.write((byte) '0');
+                buffer.write((byte) '0');
+                buffer.write(HEX[(c >> 4) & 0xF]);
+                buffer.write(HEX[c & 0xF]);
+            }
+        }
+    }
+
+    private static String formEncode(String value) {
+        return URLEncoder.encode(value, UTF_8);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(UTF_8);
+    }
+}
@@ -0,0 +1,132 @@
+package my.application.individuals_api.integration;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.net.ConnectException;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Retry policy shared by all Keycloak calls. Every retry withdraws one token from a bucket that is refilled
+ * by a fraction of a token per successful call, so retries stay below {@code budget.ratio} of the successful
+ * traffic and stop almost entirely while Keycloak is down instead of multiplying the load on it.
+ *
+ * <p>Retries wrap a single HTTP exchange, never the admin token lookup that precedes it, so a token refresh and
+ * the call that needs it each retry on their own instead of multiplying each other's attempts.
+ */
+@Component
+public class KeycloakRetryPolicy {
+
+    private static final long TOKEN_SCALE = 1000;
+
+    private final MeterRegistry meterRegistry;
+    private final int maxRetries;
+    private final long baseBackoffMillis;
+    private final long maxBackoffMillis;
+    private final long capacity;
+    private final long depositPerSuccess;
+    private final AtomicLong tokens;
+
+    public KeycloakRetryPolicy(@Value("${keycloak.retry.max-retries}") int maxRetries,
+                               @Value("${keycloak.retry.base-backoff}") Duration baseBackoff,
+                               @Value("${keycloak.retry.max-backoff}") Duration maxBackoff,
+                               @Value("${keycloak.retry.budget.ratio}") double budgetRatio,
+                               @Value("${keycloak.retry.budget.capacity}") int budgetCapacity,
+                               MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.maxRetries = maxRetries;
+        this.baseBackoffMillis = baseBackoff.toMillis();
+        this.maxBackoffMillis = maxBackoff.toMillis();
+        this.capacity = budgetCapacity * TOKEN_SCALE;
+        this.depositPerSuccess = Math.round(budgetRatio * TOKEN_SCALE);
+        this.tokens = new AtomicLong(capacity);
+
+        Gauge.builder("keycloak.retry.budget.tokens", tokens, t -> (double) t.get() / TOKEN_SCALE)
+                .description("Retries currently allowed by the Keycloak retry budget")
+                .register(meterRegistry);
+    }
+
+    /**
+     * For idempotent calls: retries 5xx, 429 and failures to send or receive.
+     */
+    public <T> Mono<T> withRetries(String operation, Mono<T> call) {
+        return withRetries(operation, call, KeycloakRetryPolicy::isRetryable);
+    }
+
+    /**
+     * For calls that must not be repeated once Keycloak may have received them, such as creating a user: a lost
+     * response to a successful create would otherwise come back as 409 on the retry. Only retries when the
+     * connection could not be established, i.e. the request was never sent.
+     */
+    public <T> Mono<T> withConnectRetries(String operation, Mono<T> call) {
+        return withRetries(operation, call, KeycloakRetryPolicy::isConnectFailure);
+    }
+
+    private <T> Mono<T> withRetries(String operation, Mono<T> call, Predicate<Throwable> retryable) {
+        return call
+                .doOnSuccess(ignored -> deposit())
+                .retryWhen(Retry.from(signals -> signals.concatMap(signal -> {
+                    Throwable failure = signal.failure();
+                    if (!retryable.test(failure) || signal.totalRetries() >= maxRetries) {
+                        return Mono.error(failure);
+                    }
+                    if (!tryWithdraw()) {
+                        meterRegistry.counter("keycloak.retry.budget.exhausted", "operation", operation).increment();
+                        return Mono.error(failure);
+                    }
+                    meterRegistry.counter("keycloak.retry.attempts", "operation", operation).increment();
+                    return Mono.delay(backoff(signal.totalRetries()));
+                })));
+    }
+
+    private static boolean isRetryable(Throwable failure) {
+        if (failure instanceof WebClientResponseException responseException) {
+            return responseException.getStatusCode().is5xxServerError()
+                    || responseException.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value();
+        }
+        return failure instanceof WebClientRequestException;
+    }
+
+    private static boolean isConnectFailure(Throwable failure) {
+        return failure instanceof WebClientRequestException
+                && (failure.getCause() instanceof ConnectException || failure.getCause() instanceof UnknownHostException);
+    }
+
+    // Full jitter: uniformly random between zero and the capped exponential backoff.
+    Duration backoff(long retry) {
+        long ceiling = retry >= 30 ? maxBackoffMillis : Math.min(maxBackoffMillis, baseBackoffMillis << retry);
+        return Duration.ofMillis(ThreadLocalRandom.current().nextLong(ceiling + 1));
+    }
+
+    private void deposit() {
+        long current;
+        do {
+            current = tokens.get();
+            if (current >= capacity) {
+                return;
+            }
+        } while (!tokens.compareAndSet(current, Math.min(capacity, current + depositPerSuccess)));
+    }
+
+    private boolean tryWithdraw() {
+        long current;
+        do {
+            current = tokens.get();
+            if (current < TOKEN_SCALE) {
+                return false;
+            }
+        } while (!tokens.compareAndSet(current, current - TOKEN_SCALE));
+        return true;
+    }
+}
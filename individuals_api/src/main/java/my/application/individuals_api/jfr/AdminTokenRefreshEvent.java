@@ -0,0 +1,25 @@
+package my.application.individuals_api.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("my.application.individuals_api.AdminTokenRefresh")
+@Label("Admin Token Refresh")
+@Category({"Individuals API", "Keycloak"})
+@Description("Refresh of the cached Keycloak admin access token")
+@Enabled(false)
+@StackTrace(false)
+class AdminTokenRefreshEvent extends Event {
+
+    @Label("Success")
+    boolean success;
+
+    @Label("Request Id")
+    @Description("Request that found the cached token expired")
+    String requestId;
+}
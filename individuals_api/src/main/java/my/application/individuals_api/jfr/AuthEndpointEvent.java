@@ -0,0 +1,30 @@
+package my.application.individuals_api.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("my.application.individuals_api.AuthEndpoint")
+@Label("Auth Endpoint")
+@Category({"Individuals API", "HTTP"})
+@Description("Request to an /v1/auth endpoint, from admission until completion")
+@Enabled(false)
+@StackTrace(false)
+class AuthEndpointEvent extends Event {
+
+    @Label("Method")
+    String method;
+
+    @Label("Path")
+    String path;
+
+    @Label("Status")
+    int status;
+
+    @Label("Request Id")
+    String requestId;
+}
@@ -0,0 +1,49 @@
+package my.application.individuals_api.jfr;
+
+import jdk.jfr.EventType;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Records an {@link AuthEndpointEvent} per /v1/auth request. Runs outside admission control so that queueing
+ * and shed requests are part of the event.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class AuthEndpointEventWebFilter implements WebFilter {
+
+    private static final EventType AUTH_ENDPOINT = EventType.getEventType(AuthEndpointEvent.class);
+    private static final String AUTH_PATH_PREFIX = "/v1/auth/";
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!AUTH_ENDPOINT.isEnabled()) {
+            return chain.filter(exchange);
+        }
+        ServerHttpRequest request = exchange.getRequest();
+        String path = request.getPath().pathWithinApplication().value();
+        if (!path.startsWith(AUTH_PATH_PREFIX)) {
+            return chain.filter(exchange);
+        }
+        AuthEndpointEvent event = new AuthEndpointEvent();
+        event.begin();
+        return chain.filter(exchange).doFinally(signal -> {
+            event.end();
+            if (event.shouldCommit()) {
+                HttpStatusCode status = exchange.getResponse().getStatusCode();
+                event.method = request.getMethod().name();
+                event.path = path;
+                event.status = status != null ? status.value() : 0;
+                event.requestId = request.getId();
+                event.commit();
+            }
+        });
+    }
+}
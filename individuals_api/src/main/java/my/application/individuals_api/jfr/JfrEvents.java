@@ -0,0 +1,107 @@
+package my.application.individuals_api.jfr;
+
+import jdk.jfr.EventType;
+import my.application.individuals_api.timing.RequestTimings;
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.client.reactive.ClientHttpRequestDecorator;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
+
+/**
+ * Records the Keycloak JFR events. While an event type is disabled the wrappers return the source unchanged,
+ * so the only cost is one enabled check per call.
+ */
+public final class JfrEvents {
+
+    private static final EventType KEYCLOAK_CALL = EventType.getEventType(KeycloakCallEvent.class);
+    private static final EventType ADMIN_TOKEN_REFRESH = EventType.getEventType(AdminTokenRefreshEvent.class);
+
+    private JfrEvents() {
+    }
+
+    public static <T> Mono<T> keycloakCall(String operation, Mono<T> call) {
+        if (!KEYCLOAK_CALL.isEnabled()) {
+            return call;
+        }
+        return Mono.deferContextual(context -> {
+            KeycloakCallEvent event = new KeycloakCallEvent();
+            event.operation = operation;
+            event.requestId = requestId(context);
+            event.begin();
+            return call
+                    .doFinally(signal -> {
+                        event.end();
+                        if (event.shouldCommit()) {
+                            event.commit();
+                        }
+                    })
+                    .contextWrite(inner -> inner.put(KeycloakCallEvent.class, event));
+        });
+    }
+
+    public static <T> Mono<T> adminTokenRefresh(Mono<T> refresh) {
+        if (!ADMIN_TOKEN_REFRESH.isEnabled()) {
+            return refresh;
+        }
+        return Mono.deferContextual(context -> {
+            AdminTokenRefreshEvent event = new AdminTokenRefreshEvent();
+            event.requestId = requestId(context);
+            event.begin();
+            return refresh
+                    .doOnSuccess(ignored -> event.success = true)
+                    .doFinally(signal -> {
+                        event.end();
+                        if (event.shouldCommit()) {
+                            event.commit();
+                        }
+                    });
+        });
+    }
+
+    /**
+     * Adds attempt, status and byte counts of every exchange to the {@link #keycloakCall} event in scope.
+     */
+    public static ExchangeFilterFunction keycloakExchangeFilter() {
+        return JfrEvents::recordExchange;
+    }
+
+    static String requestId(ContextView context) {
+        RequestTimings timings = context.getOrDefault(RequestTimings.CONTEXT_KEY, null);
+        return timings != null ? timings.getRequestId() : null;
+    }
+
+    private static Mono<ClientResponse> recordExchange(ClientRequest request, ExchangeFunction next) {
+        return Mono.deferContextual(context -> {
+            KeycloakCallEvent event = context.getOrDefault(KeycloakCallEvent.class, null);
+            if (event == null) {
+                return next.exchange(request);
+            }
+            if (event.attempted) {
+                event.retries++;
+            }
+            event.attempted = true;
+            ClientRequest countedRequest = ClientRequest.from(request)
+                    .body((outputMessage, insertContext) -> request.body().insert(
+                            new ClientHttpRequestDecorator(outputMessage) {
+                                @Override
+                                public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                                    return super.writeWith(Flux.from(body)
+                                            .doOnNext(buffer -> event.requestBytes += buffer.readableByteCount()));
+                                }
+                            }, insertContext))
+                    .build();
+            return next.exchange(countedRequest).map(response -> {
+                event.status = response.statusCode().value();
+                return response.mutate()
+                        .body(body -> body.doOnNext(buffer -> event.responseBytes += buffer.readableByteCount()))
+                        .build();
+            });
+        });
+    }
+}
@@ -0,0 +1,52 @@
+package my.application.individuals_api.jfr;
+
+import jdk.jfr.EventType;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.oauth2.jwt.Jwt;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Records a {@link JwtConversionEvent} around the delegate converter, whether it succeeds, fails or is cancelled.
+ */
+public class JfrJwtAuthenticationConverter implements Converter<Jwt, Mono<AbstractAuthenticationToken>> {
+
+    private static final EventType JWT_CONVERSION = EventType.getEventType(JwtConversionEvent.class);
+
+    private final Converter<Jwt, Mono<AbstractAuthenticationToken>> delegate;
+
+    public JfrJwtAuthenticationConverter(Converter<Jwt, Mono<AbstractAuthenticationToken>> delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Mono<AbstractAuthenticationToken> convert(Jwt jwt) {
+        if (!JWT_CONVERSION.isEnabled()) {
+            return delegate.convert(jwt);
+        }
+        return Mono.deferContextual(context -> {
+            JwtConversionEvent event = new JwtConversionEvent();
+            event.begin();
+            return Mono.defer(() -> delegate.convert(jwt))
+                    .doOnSuccess(authentication -> event.authorities = authentication != null ? authentication.getAuthorities().size() : 0)
+                    .doFinally(signal -> {
+                        event.end();
+                        if (event.shouldCommit()) {
+                            event.subject = jwt.getSubject();
+                            event.outcome = outcome(signal);
+                            event.requestId = JfrEvents.requestId(context);
+                            event.commit();
+                        }
+                    });
+        });
+    }
+
+    private static String outcome(SignalType signal) {
+        return switch (signal) {
+            case ON_COMPLETE -> "SUCCESS";
+            case ON_ERROR -> "ERROR";
+            default -> "CANCELLED";
+        };
+    }
+}
@@ -0,0 +1,31 @@
+package my.application.individuals_api.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("my.application.individuals_api.JwtConversion")
+@Label("JWT Conversion")
+@Category({"Individuals API", "Security"})
+@Description("Conversion of a validated JWT into an authentication token with its authorities")
+@Enabled(false)
+@StackTrace(false)
+class JwtConversionEvent extends Event {
+
+    @Label("Subject")
+    String subject;
+
+    @Label("Authorities")
+    int authorities;
+
+    @Label("Outcome")
+    @Description("SUCCESS, ERROR or CANCELLED")
+    String outcome;
+
+    @Label("Request Id")
+    String requestId;
+}
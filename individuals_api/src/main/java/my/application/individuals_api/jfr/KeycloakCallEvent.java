@@ -0,0 +1,41 @@
+package my.application.individuals_api.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("my.application.individuals_api.KeycloakCall")
+@Label("Keycloak Call")
+@Category({"Individuals API", "Keycloak"})
+@Description("KeycloakIntegration operation, from the first attempt until the last response, including retries")
+@Enabled(false)
+@StackTrace(false)
+class KeycloakCallEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Status")
+    int status;
+
+    @Label("Retries")
+    int retries;
+
+    @Label("Request Bytes")
+    @DataAmount
+    long requestBytes;
+
+    @Label("Response Bytes")
+    @DataAmount
+    long responseBytes;
+
+    @Label("Request Id")
+    String requestId;
+
+    transient boolean attempted;
+}
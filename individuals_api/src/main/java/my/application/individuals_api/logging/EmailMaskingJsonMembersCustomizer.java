@@ -0,0 +1,17 @@
+package my.application.individuals_api.logging;
+
+import org.springframework.boot.json.JsonWriter;
+import org.springframework.boot.logging.structured.StructuredLoggingJsonMembersCustomizer;
+
+/**
+ * Masks email addresses in every string the structured log encoder writes: messages, arguments, exception messages
+ * and stack traces alike, so no log call has to remember to mask. Registered through
+ * {@code logging.structured.json.customizer}; it runs on the async appender's writer thread, not on request threads.
+ */
+public class EmailMaskingJsonMembersCustomizer implements StructuredLoggingJsonMembersCustomizer<Object> {
+
+    @Override
+    public void customize(JsonWriter.Members<Object> members) {
+        members.applyingValueProcessor(JsonWriter.ValueProcessor.of(String.class, LogMasking::emails));
+    }
+}
@@ -0,0 +1,44 @@
+package my.application.individuals_api.logging;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class LogMasking {
+
+    private static final Pattern EMAIL = Pattern.compile("[A-Za-z0-9._%+-]+@[A-Za-z0-9-]+(?:\\.[A-Za-z0-9-]+)*\\.[A-Za-z]{2,}");
+
+    /**
+     * Keeps the first character of the local part and the domain: {@code user1@example.com} becomes
+     * {@code u***@example.com}. Anything that does not look like an email is masked completely.
+     */
+    public static String email(String email) {
+        if (email == null) {
+            return null;
+        }
+        int at = email.indexOf('@');
+        if (at <= 0) {
+            return "***";
+        }
+        return email.charAt(0) + "***" + email.substring(at);
+    }
+
+    /**
+     * Masks every email address found in {@code text} as {@link #email(String)} does. Text without an {@code @} is
+     * returned as is.
+     */
+    public static String emails(String text) {
+        if (text == null || text.indexOf('@') < 0) {
+            return text;
+        }
+        Matcher matcher = EMAIL.matcher(text);
+        if (!matcher.find()) {
+            return text;
+        }
+        StringBuilder masked = new StringBuilder(text.length());
+        do {
+            matcher.appendReplacement(masked, Matcher.quoteReplacement(email(matcher.group())));
+        } while (matcher.find());
+        matcher.appendTail(masked);
+        return masked.toString();
+    }
+}
@@ -0,0 +1,34 @@
+package my.application.individuals_api.logging;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides whether a hot-path log line is written. Each event type has its own rate in
+ * {@code logging.sampling.rates} (e.g. {@code login: 0.01} keeps one line in a hundred); other events use
+ * {@code logging.sampling.default-rate}. Check before logging, so that skipped lines cost no formatting.
+ */
+@Component
+public class LogSampler {
+
+    private final Map<String, Double> rates;
+    private final double defaultRate;
+
+    public LogSampler(Environment environment, @Value("${logging.sampling.default-rate}") double defaultRate) {
+        this.rates = Binder.get(environment)
+                .bind("logging.sampling.rates", Bindable.mapOf(String.class, Double.class))
+                .orElse(Map.of());
+        this.defaultRate = defaultRate;
+    }
+
+    public boolean sample(String event) {
+        double rate = rates.getOrDefault(event, defaultRate);
+        return rate >= 1.0 || (rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+}
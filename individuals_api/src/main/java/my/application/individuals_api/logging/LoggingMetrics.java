@@ -0,0 +1,17 @@
+package my.application.individuals_api.logging;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+@Component
+public class LoggingMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("logging.events.dropped", CountingAsyncAppender.class, ignored -> CountingAsyncAppender.droppedEvents())
+                .description("Log events dropped because the async appender queue was full")
+                .register(registry);
+    }
+}
@@ -0,0 +1,53 @@
+package my.application.individuals_api.logging;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Allows at most {@code logging.stack-traces.per-minute} stack traces per fixed one-minute window. A burst of
+ * identical failures then logs a few traces and one line per request for the rest.
+ *
+ * <p>The window number and the count taken in it share one {@link AtomicLong} (window in the high 32 bits), so a
+ * window change and the count it resets are a single CAS and no thread can count against a stale window.
+ */
+@Component
+public class StackTraceRateLimiter {
+
+    private static final long WINDOW_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final long COUNT_MASK = 0xFFFF_FFFFL;
+
+    private final int perMinute;
+    private final LongSupplier nanoTime;
+    private final long origin;
+    private final AtomicLong state = new AtomicLong();
+
+    public StackTraceRateLimiter(@Value("${logging.stack-traces.per-minute}") int perMinute) {
+        this(perMinute, System::nanoTime);
+    }
+
+    StackTraceRateLimiter(int perMinute, LongSupplier nanoTime) {
+        this.perMinute = perMinute;
+        this.nanoTime = nanoTime;
+        this.origin = nanoTime.getAsLong();
+    }
+
+    public boolean tryAcquire() {
+        long now = (nanoTime.getAsLong() - origin) / WINDOW_NANOS;
+        while (true) {
+            long current = state.get();
+            // A thread that read the clock just before another one opened the next window counts against that window.
+            long window = Math.max(now, current >>> 32);
+            long used = window == current >>> 32 ? current & COUNT_MASK : 0;
+            if (used >= perMinute) {
+                return false;
+            }
+            if (state.compareAndSet(current, window << 32 | (used + 1))) {
+                return true;
+            }
+        }
+    }
+}
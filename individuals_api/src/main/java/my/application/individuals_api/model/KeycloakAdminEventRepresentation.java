@@ -0,0 +1,8 @@
+package my.application.individuals_api.model;
+
+public record KeycloakAdminEventRepresentation(
+        Long time,
+        String operationType,
+        String resourceType,
+        String resourcePath) {
+}
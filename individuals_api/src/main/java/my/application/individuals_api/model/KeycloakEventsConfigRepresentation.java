@@ -0,0 +1,5 @@
+package my.application.individuals_api.model;
+
+public record KeycloakEventsConfigRepresentation(
+        Boolean adminEventsEnabled) {
+}
@@ -0,0 +1,125 @@
+package my.application.individuals_api.password;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Bloom filter of breached password SHA-1 hashes, memory-mapped read-only from the file produced by
+ * {@link BreachedPasswordFilterGenerator}. The bit array stays off-heap and is paged in on demand, so
+ * startup does not depend on the filter size.
+ *
+ * <p>File layout (big-endian): magic, version, number of hash functions, reserved (4 x int),
+ * number of bits, number of entries (2 x long), followed by the bit array.
+ */
+@Slf4j
+@Component
+public class BreachedPasswordFilter implements DisposableBean {
+
+    static final int MAGIC = 0x42504246;
+    static final int VERSION = 1;
+    static final long HEADER_SIZE = 32;
+
+    static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.BIG_ENDIAN);
+    static final ValueLayout.OfLong LONG = ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.BIG_ENDIAN);
+
+    private final Arena arena;
+    private final MemorySegment bits;
+    private final int hashFunctions;
+    private final long bitCount;
+
+    public BreachedPasswordFilter(@Value("${password-policy.breached-filter-path}") String filterPath) {
+        if (filterPath == null || filterPath.isBlank()) {
+            log.info("Breached password filter is not configured");
+            this.arena = null;
+            this.bits = null;
+            this.hashFunctions = 0;
+            this.bitCount = 0;
+            return;
+        }
+
+        this.arena = Arena.ofShared();
+        try (FileChannel channel = FileChannel.open(Path.of(filterPath), StandardOpenOption.READ)) {
+            MemorySegment file = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena);
+            if (file.byteSize() < HEADER_SIZE || file.get(INT, 0) != MAGIC || file.get(INT, 4) != VERSION) {
+                throw new IllegalStateException("Not a breached password filter file: " + filterPath);
+            }
+            this.hashFunctions = file.get(INT, 8);
+            this.bitCount = file.get(LONG, 16);
+            if (file.byteSize() < HEADER_SIZE + byteCount(bitCount)) {
+                throw new IllegalStateException("Truncated breached password filter file: " + filterPath);
+            }
+            this.bits = file.asSlice(HEADER_SIZE, byteCount(bitCount));
+            log.info("Loaded breached password filter with {} entries, {} bits, {} hash functions",
+                    file.get(LONG, 24), bitCount, hashFunctions);
+        } catch (IOException e) {
+            arena.close();
+            throw new UncheckedIOException("Cannot map breached password filter " + filterPath, e);
+        } catch (RuntimeException e) {
+            arena.close();
+            throw e;
+        }
+    }
+
+    public boolean mightContain(String password) {
+        if (bits == null) {
+            return false;
+        }
+        byte[] hash = sha1().digest(password.getBytes(StandardCharsets.UTF_8));
+        long h1 = MemorySegment.ofArray(hash).get(LONG, 0);
+        long h2 = MemorySegment.ofArray(hash).get(LONG, 8);
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = bitIndex(h1, h2, i, bitCount);
+            if ((bits.get(ValueLayout.JAVA_BYTE, bit >>> 3) & (1 << (bit & 7))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    int hashFunctions() {
+        return hashFunctions;
+    }
+
+    long bitCount() {
+        return bitCount;
+    }
+
+    @Override
+    public void destroy() {
+        if (arena != null) {
+            arena.close();
+        }
+    }
+
+    // Kirsch-Mitzenmacher double hashing over the two halves of the SHA-1 prefix.
+    static long bitIndex(long h1, long h2, int i, long bitCount) {
+        return Long.remainderUnsigned(h1 + i * h2, bitCount);
+    }
+
+    static long byteCount(long bitCount) {
+        return (bitCount + 7) >>> 3;
+    }
+
+    static MessageDigest sha1() {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package my.application.individuals_api.password;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static my.application.individuals_api.password.BreachedPasswordFilter.HEADER_SIZE;
+import static my.application.individuals_api.password.BreachedPasswordFilter.INT;
+import static my.application.individuals_api.password.BreachedPasswordFilter.LONG;
+import static my.application.individuals_api.password.BreachedPasswordFilter.MAGIC;
+import static my.application.individuals_api.password.BreachedPasswordFilter.VERSION;
+import static my.application.individuals_api.password.BreachedPasswordFilter.bitIndex;
+import static my.application.individuals_api.password.BreachedPasswordFilter.byteCount;
+
+/**
+ * Build-time tool producing the {@link BreachedPasswordFilter} file from a list of SHA-1 password hashes,
+ * one per line, in the "HASH" or "HASH:count" format of the Pwned Passwords downloads.
+ *
+ * <pre>
+ * ./gradlew generateBreachedPasswordFilter -PhashList=pwned-passwords-sha1.txt -PfilterFile=breached.bloom
+ * </pre>
+ */
+public class BreachedPasswordFilterGenerator {
+
+    private static final int SHA1_HEX_LENGTH = 40;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BreachedPasswordFilterGenerator <hash-list> <filter-file> [false-positive-rate]");
+            System.exit(1);
+        }
+        Path hashList = Path.of(args[0]);
+        Path filterFile = Path.of(args[1]);
+        double falsePositiveRate = args.length > 2 ? Double.parseDouble(args[2]) : 0.001;
+
+        long entries = countEntries(hashList);
+        long bitCount = Math.max(64, (long) Math.ceil(-entries * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2))));
+        int hashFunctions = Math.max(1, (int) Math.round((double) bitCount / Math.max(1, entries) * Math.log(2)));
+
+        try (Arena arena = Arena.ofConfined();
+             FileChannel channel = FileChannel.open(filterFile, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                     StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MemorySegment file = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + byteCount(bitCount), arena);
+            file.set(INT, 0, MAGIC);
+            file.set(INT, 4, VERSION);
+            file.set(INT, 8, hashFunctions);
+            file.set(LONG, 16, bitCount);
+            file.set(LONG, 24, entries);
+
+            MemorySegment bits = file.asSlice(HEADER_SIZE);
+            byte[] hash = new byte[20];
+            MemorySegment hashSegment = MemorySegment.ofArray(hash);
+            try (BufferedReader reader = Files.newBufferedReader(hashList, StandardCharsets.US_ASCII)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (!parseSha1(line, hash)) {
+                        continue;
+                    }
+                    long h1 = hashSegment.get(LONG, 0);
+                    long h2 = hashSegment.get(LONG, 8);
+                    for (int i = 0; i < hashFunctions; i++) {
+                        long bit = bitIndex(h1, h2, i, bitCount);
+                        long offset = bit >>> 3;
+                        bits.set(ValueLayout.JAVA_BYTE, offset, (byte) (bits.get(ValueLayout.JAVA_BYTE, offset) | (1 << (bit & 7))));
+                    }
+                }
+            }
+            file.force();
+        }
+
+        System.out.printf("Wrote %s: %d entries, %d bits (%d MiB), %d hash functions, target false-positive rate %s%n",
+                filterFile, entries, bitCount, byteCount(bitCount) >> 20, hashFunctions, falsePositiveRate);
+    }
+
+    private static long countEntries(Path hashList) throws IOException {
+        byte[] hash = new byte[20];
+        long entries = 0;
+        try (BufferedReader reader = Files.newBufferedReader(hashList, StandardCharsets.US_ASCII)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (parseSha1(line, hash)) {
+                    entries++;
+                }
+            }
+        }
+        return entries;
+    }
+
+    private static boolean parseSha1(String line, byte[] hash) {
+        if (line.length() < SHA1_HEX_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < hash.length; i++) {
+            int high = Character.digit(line.charAt(2 * i), 16);
+            int low = Character.digit(line.charAt(2 * i + 1), 16);
+            if (high < 0 || low < 0) {
+                return false;
+            }
+            hash[i] = (byte) ((high << 4) | low);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,62 @@
+package my.application.individuals_api.password;
+
+import my.application.individuals_api.exception.AuthException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import static my.application.individuals_api.utils.Messages.PASSWORD_BREACHED;
+import static my.application.individuals_api.utils.Messages.PASSWORD_TOO_SHORT;
+import static my.application.individuals_api.utils.Messages.PASSWORD_TOO_WEAK;
+
+@Component
+public class PasswordPolicy {
+
+    private final int minLength;
+    private final int minCharacterClasses;
+    private final BreachedPasswordFilter breachedPasswordFilter;
+
+    public PasswordPolicy(@Value("${password-policy.min-length}") int minLength,
+                          @Value("${password-policy.min-character-classes}") int minCharacterClasses,
+                          BreachedPasswordFilter breachedPasswordFilter) {
+        this.minLength = minLength;
+        this.minCharacterClasses = minCharacterClasses;
+        this.breachedPasswordFilter = breachedPasswordFilter;
+    }
+
+    public Mono<Void> validate(String password) {
+        return Mono.defer(() -> {
+            if (password.length() < minLength) {
+                return Mono.error(new AuthException(PASSWORD_TOO_SHORT, HttpStatus.BAD_REQUEST));
+            }
+            if (characterClasses(password) < minCharacterClasses) {
+                return Mono.error(new AuthException(PASSWORD_TOO_WEAK, HttpStatus.BAD_REQUEST));
+            }
+            if (breachedPasswordFilter.mightContain(password)) {
+                return Mono.error(new AuthException(PASSWORD_BREACHED, HttpStatus.BAD_REQUEST));
+            }
+            return Mono.empty();
+        });
+    }
+
+    private static int characterClasses(String password) {
+        boolean lower = false;
+        boolean upper = false;
+        boolean digit = false;
+        boolean other = false;
+        for (int i = 0; i < password.length(); i++) {
+            char c = password.charAt(i);
+            if (Character.isLowerCase(c)) {
+                lower = true;
+            } else if (Character.isUpperCase(c)) {
+                upper = true;
+            } else if (Character.isDigit(c)) {
+                digit = true;
+            } else {
+                other = true;
+            }
+        }
+        return (lower ? 1 : 0) + (upper ? 1 : 0) + (digit ? 1 : 0) + (other ? 1 : 0);
+    }
+}
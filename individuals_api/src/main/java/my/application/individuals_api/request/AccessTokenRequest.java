@@ -0,0 +1,8 @@
+package my.application.individuals_api.request;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotBlank;
+
+public record AccessTokenRequest(
+        @NotBlank @JsonProperty("access_token") String accessToken
+) {}
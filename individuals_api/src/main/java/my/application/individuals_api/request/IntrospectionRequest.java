@@ -0,0 +1,11 @@
+package my.application.individuals_api.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record IntrospectionRequest(
+        @NotEmpty @Size(max = 500) List<@NotBlank String> tokens
+) {}
@@ -0,0 +1,7 @@
+package my.application.individuals_api.response;
+
+import java.util.List;
+
+public record IntrospectionResponse(
+        List<TokenIntrospectionResponse> results
+) {}
@@ -0,0 +1,20 @@
+package my.application.individuals_api.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+import java.util.Map;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TokenIntrospectionResponse(
+        boolean active,
+        String sub,
+        Long exp,
+        List<String> roles,
+        Map<String, Object> claims,
+        String error
+) {
+    public static TokenIntrospectionResponse inactive(String error) {
+        return new TokenIntrospectionResponse(false, null, null, null, null, error);
+    }
+}
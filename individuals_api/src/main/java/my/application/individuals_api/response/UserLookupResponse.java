@@ -0,0 +1,18 @@
+package my.application.individuals_api.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record UserLookupResponse(
+        String id,
+        UserInfoResponse user,
+        String error
+) {
+    public static UserLookupResponse found(UserInfoResponse user) {
+        return new UserLookupResponse(user.id(), user, null);
+    }
+
+    public static UserLookupResponse failed(String id, String error) {
+        return new UserLookupResponse(id, null, error);
+    }
+}
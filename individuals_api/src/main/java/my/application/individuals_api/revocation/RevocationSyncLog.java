@@ -0,0 +1,119 @@
+package my.application.individuals_api.revocation;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.ObjLongConsumer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Append-only text log of revocations, one {@code jti,retainUntil} line per token. Every node appends its own
+ * revocations and tails the file from the last position it has read, so nodes sharing the file converge on the
+ * same revocation set. The file is never compacted here; entries past their {@code retainUntil} are ignored
+ * on read, so it can be truncated safely once all of them have expired. Tick thread only.
+ */
+class RevocationSyncLog implements AutoCloseable {
+
+    private static final int MAX_LINE_LENGTH = 512;
+
+    private final FileChannel appendChannel;
+    private final FileChannel readChannel;
+    private final ByteBuffer readBuffer = ByteBuffer.allocate(64 * 1024);
+    private final ByteBuffer lastByte = ByteBuffer.allocate(1);
+    private final byte[] line = new byte[MAX_LINE_LENGTH];
+    private final StringBuilder appendBuffer = new StringBuilder();
+    private int lineLength;
+    private long readPosition;
+
+    RevocationSyncLog(Path path) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.appendChannel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        this.readChannel = FileChannel.open(path, StandardOpenOption.READ);
+    }
+
+    void add(String jti, long retainUntil) {
+        appendBuffer.append(jti).append(',').append(retainUntil).append('\n');
+    }
+
+    void flush() throws IOException {
+        if (appendBuffer.isEmpty()) {
+            return;
+        }
+        // A node that died mid-write leaves a line without its newline; start a fresh line so ours is not glued to it.
+        if (!endsWithNewline()) {
+            appendBuffer.insert(0, '\n');
+        }
+        ByteBuffer bytes = ByteBuffer.wrap(appendBuffer.toString().getBytes(UTF_8));
+        appendBuffer.setLength(0);
+        while (bytes.hasRemaining()) {
+            appendChannel.write(bytes);
+        }
+    }
+
+    void readNew(ObjLongConsumer<String> consumer) throws IOException {
+        long size = readChannel.size();
+        if (size < readPosition) {
+            // Truncated by an operator: start over from the beginning.
+            readPosition = 0;
+            lineLength = 0;
+        }
+        while (readPosition < size) {
+            readBuffer.clear();
+            int read = readChannel.read(readBuffer, readPosition);
+            if (read <= 0) {
+                break;
+            }
+            readPosition += read;
+            for (int i = 0; i < read; i++) {
+                byte b = readBuffer.get(i);
+                if (b == '\n') {
+                    parseLine(consumer);
+                    lineLength = 0;
+                } else if (lineLength < line.length) {
+                    line[lineLength++] = b;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try (appendChannel; readChannel) {
+            flush();
+        }
+    }
+
+    private boolean endsWithNewline() throws IOException {
+        long size = appendChannel.size();
+        if (size == 0) {
+            return true;
+        }
+        lastByte.clear();
+        return readChannel.read(lastByte, size - 1) == 1 && lastByte.get(0) == '\n';
+    }
+
+    private void parseLine(ObjLongConsumer<String> consumer) {
+        int separator = lineLength - 1;
+        long retainUntil = 0;
+        long multiplier = 1;
+        while (separator > 0 && line[separator] != ',') {
+            byte digit = line[separator--];
+            if (digit < '0' || digit > '9' || multiplier > 1_000_000_000_000L) {
+                return;
+            }
+            retainUntil += (digit - '0') * multiplier;
+            multiplier *= 10;
+        }
+        if (separator <= 0 || multiplier == 1 || lineLength == line.length) {
+            return;
+        }
+        consumer.accept(new String(line, 0, separator, UTF_8), retainUntil);
+    }
+}
@@ -0,0 +1,69 @@
+package my.application.individuals_api.revocation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel holding one entry per revoked token until its retention deadline. Request threads hand
+ * entries over through a lock-free queue; the buckets themselves are only touched by the tick thread, which
+ * expires everything due in the current bucket and leaves entries scheduled for a later round in place.
+ */
+class RevocationTimingWheel {
+
+    record Entry(String jti, long retainUntil, long deadlineTick) {}
+
+    private final long tickMillis;
+    private final int mask;
+    private final List<List<Entry>> buckets;
+    private final Queue<Entry> pending = new ConcurrentLinkedQueue<>();
+    private long currentTick;
+
+    RevocationTimingWheel(long tickMillis, int requestedWheelSize, long nowMillis) {
+        int wheelSize = Integer.highestOneBit(Math.max(2, requestedWheelSize - 1)) << 1;
+        this.tickMillis = tickMillis;
+        this.mask = wheelSize - 1;
+        this.buckets = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            buckets.add(new ArrayList<>());
+        }
+        this.currentTick = nowMillis / tickMillis;
+    }
+
+    /**
+     * @param retainUntil epoch second after which the entry can be dropped
+     */
+    void schedule(String jti, long retainUntil) {
+        long deadlineTick = Math.ceilDiv(retainUntil * 1000, tickMillis);
+        pending.offer(new Entry(jti, retainUntil, deadlineTick));
+    }
+
+    /**
+     * Processes every tick up to {@code nowMillis}. Tick thread only.
+     */
+    void advance(long nowMillis, Consumer<Entry> expired) {
+        transferPending();
+        long targetTick = nowMillis / tickMillis;
+        while (currentTick <= targetTick) {
+            long tick = currentTick;
+            buckets.get((int) (tick & mask)).removeIf(entry -> {
+                if (entry.deadlineTick() > tick) {
+                    return false;
+                }
+                expired.accept(entry);
+                return true;
+            });
+            currentTick++;
+        }
+    }
+
+    private void transferPending() {
+        Entry entry;
+        while ((entry = pending.poll()) != null) {
+            long tick = Math.max(entry.deadlineTick(), currentTick);
+            buckets.get((int) (tick & mask)).add(entry);
+        }
+    }
+}
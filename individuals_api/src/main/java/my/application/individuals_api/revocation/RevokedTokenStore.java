@@ -0,0 +1,137 @@
+package my.application.individuals_api.revocation;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Ids ({@code jti}) of access tokens revoked by logout. Validation is local, so without this a logged-out
+ * access token would stay usable until it expires. An entry is kept until the token's {@code exp} plus the
+ * clock skew tolerated by the JWT timestamp validator and is then dropped by {@link RevocationTimingWheel},
+ * so memory is bounded by the number of revoked tokens that are still otherwise valid.
+ */
+@Slf4j
+@Component
+public class RevokedTokenStore implements InitializingBean, DisposableBean {
+
+    // Same allowance as JwtTimestampValidator's default.
+    private static final Duration CLOCK_SKEW = Duration.ofSeconds(60);
+
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private final RevocationTimingWheel timingWheel;
+    private final RevocationSyncLog syncLog;
+    private final Queue<String> unsyncedJtis = new ConcurrentLinkedQueue<>();
+    private final long tickNanos;
+    private final long syncIntervalMillis;
+    private final Thread ticker;
+    private volatile boolean running = true;
+
+    public RevokedTokenStore(MeterRegistry meterRegistry,
+                             @Value("${revocation.tick}") Duration tick,
+                             @Value("${revocation.wheel-size}") int wheelSize,
+                             @Value("${revocation.sync-log-path}") String syncLogPath,
+                             @Value("${revocation.sync-interval}") Duration syncInterval) throws IOException {
+        this.timingWheel = new RevocationTimingWheel(tick.toMillis(), wheelSize, System.currentTimeMillis());
+        this.syncLog = syncLogPath.isBlank() ? null : new RevocationSyncLog(Path.of(syncLogPath));
+        this.tickNanos = tick.toNanos();
+        this.syncIntervalMillis = syncInterval.toMillis();
+        this.ticker = Thread.ofPlatform().name("revocation-ticker").daemon().unstarted(this::tick);
+
+        Gauge.builder("auth.revoked-tokens.size", revoked, Map::size)
+                .description("Revoked access tokens that have not expired yet")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterPropertiesSet() throws IOException {
+        if (syncLog != null) {
+            syncLog.readNew(this::addLocal);
+            log.info("Loaded {} revoked tokens from the sync log", revoked.size());
+        }
+        ticker.start();
+    }
+
+    public boolean isRevoked(String jti) {
+        return revoked.containsKey(jti);
+    }
+
+    public void revoke(String jti, Instant expiresAt) {
+        if (jti == null || expiresAt == null) {
+            return;
+        }
+        if (addLocal(jti, expiresAt.plus(CLOCK_SKEW).getEpochSecond()) && syncLog != null && jti.indexOf('\n') < 0) {
+            unsyncedJtis.offer(jti);
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException, IOException {
+        running = false;
+        LockSupport.unpark(ticker);
+        ticker.join(TimeUnit.SECONDS.toMillis(5));
+        if (syncLog != null) {
+            syncLog.close();
+        }
+    }
+
+    private boolean addLocal(String jti, long retainUntil) {
+        if (retainUntil * 1000 <= System.currentTimeMillis() || revoked.putIfAbsent(jti, retainUntil) != null) {
+            return false;
+        }
+        timingWheel.schedule(jti, retainUntil);
+        return true;
+    }
+
+    private void tick() {
+        long nextSync = 0;
+        while (running) {
+            long now = System.currentTimeMillis();
+            try {
+                timingWheel.advance(now, entry -> revoked.remove(entry.jti(), entry.retainUntil()));
+                if (syncLog != null && now >= nextSync) {
+                    sync();
+                    nextSync = now + syncIntervalMillis;
+                }
+            } catch (RuntimeException | IOException e) {
+                log.error("Revocation ticker failed: {}", e.getMessage(), e);
+            }
+            LockSupport.parkNanos(tickNanos);
+        }
+        // Revocations made since the last sync would otherwise never reach the other nodes.
+        if (syncLog != null) {
+            try {
+                sync();
+            } catch (IOException e) {
+                log.error("Final revocation sync failed: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    private void sync() throws IOException {
+        String jti;
+        while ((jti = unsyncedJtis.poll()) != null) {
+            Long retainUntil = revoked.get(jti);
+            if (retainUntil != null) {
+                syncLog.add(jti, retainUntil);
+            }
+        }
+        syncLog.flush();
+        syncLog.readNew(this::addLocal);
+    }
+}
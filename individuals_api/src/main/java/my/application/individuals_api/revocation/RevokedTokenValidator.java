@@ -0,0 +1,30 @@
+package my.application.individuals_api.revocation;
+
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.OAuth2ErrorCodes;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+/**
+ * Rejects access tokens whose {@code jti} is in {@link RevokedTokenStore}. Both results are shared constants,
+ * so the check is a single hash lookup per request.
+ */
+public class RevokedTokenValidator implements OAuth2TokenValidator<Jwt> {
+
+    private static final OAuth2TokenValidatorResult VALID = OAuth2TokenValidatorResult.success();
+    private static final OAuth2TokenValidatorResult REVOKED = OAuth2TokenValidatorResult.failure(
+            new OAuth2Error(OAuth2ErrorCodes.INVALID_TOKEN, "The token has been revoked", null));
+
+    private final RevokedTokenStore revokedTokenStore;
+
+    public RevokedTokenValidator(RevokedTokenStore revokedTokenStore) {
+        this.revokedTokenStore = revokedTokenStore;
+    }
+
+    @Override
+    public OAuth2TokenValidatorResult validate(Jwt jwt) {
+        String jti = jwt.getId();
+        return jti != null && revokedTokenStore.isRevoked(jti) ? REVOKED : VALID;
+    }
+}
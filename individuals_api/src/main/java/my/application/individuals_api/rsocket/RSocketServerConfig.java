@@ -0,0 +1,34 @@
+package my.application.individuals_api.rsocket;
+
+import io.rsocket.core.Resume;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.rsocket.RSocketMessageHandlerCustomizer;
+import org.springframework.boot.rsocket.server.RSocketServerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+import java.time.Duration;
+
+@Configuration
+public class RSocketServerConfig {
+
+    /**
+     * Keeps a client's session and unacknowledged frames for {@code rsocket.resume.session-duration} after its
+     * connection drops, so a client that reconnects with its resume token continues in-flight requests.
+     */
+    @Bean
+    public RSocketServerCustomizer resumableRSocketServer(@Value("${rsocket.resume.session-duration}") Duration sessionDuration) {
+        return server -> server.resume(new Resume().sessionDuration(sessionDuration));
+    }
+
+    /**
+     * Lets {@code @Valid} payloads of the RSocket routes be checked like request bodies of the HTTP endpoints;
+     * the message handler has no validator unless one is set.
+     */
+    @Bean
+    public RSocketMessageHandlerCustomizer validatingRSocketMessageHandler(Validator validator) {
+        return messageHandler -> messageHandler.setValidator(new SpringValidatorAdapter(validator));
+    }
+}
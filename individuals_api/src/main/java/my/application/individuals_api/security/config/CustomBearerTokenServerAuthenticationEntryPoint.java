@@ -1,8 +1,6 @@
 package my.application.individuals_api.security.config;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import org.springframework.core.io.buffer.DataBuffer;
+import my.application.individuals_api.errorhandling.ErrorPayloads;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.server.reactive.ServerHttpResponse;
@@ -12,36 +10,18 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
-import java.util.LinkedHashMap;
-import java.util.Map;
-
 import static my.application.individuals_api.utils.Messages.INVALID_OR_EXPIRED_ACCESS_TOKEN;
 
 @Component
 public class CustomBearerTokenServerAuthenticationEntryPoint implements ServerAuthenticationEntryPoint {
 
-    private final ObjectMapper objectMapper;
-
-    public CustomBearerTokenServerAuthenticationEntryPoint() {
-        this.objectMapper = new ObjectMapper();
-    }
+    private final byte[] responseBody = ErrorPayloads.body(INVALID_OR_EXPIRED_ACCESS_TOKEN, HttpStatus.UNAUTHORIZED);
 
     @Override
     public Mono<Void> commence(ServerWebExchange exchange, AuthenticationException ex) {
         ServerHttpResponse response = exchange.getResponse();
         response.setStatusCode(HttpStatus.UNAUTHORIZED);
         response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
-
-        Map<String, Object> responseBody = new LinkedHashMap<>();
-        responseBody.put("status", HttpStatus.UNAUTHORIZED.value());
-        responseBody.put("error", INVALID_OR_EXPIRED_ACCESS_TOKEN);
-
-        try {
-            byte[] bytes = objectMapper.writeValueAsBytes(responseBody);
-            DataBuffer buffer = response.bufferFactory().wrap(bytes);
-            return response.writeWith(Mono.just(buffer));
-        } catch (JsonProcessingException e) {
-            return Mono.error(e);
-        }
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(responseBody)));
     }
 }
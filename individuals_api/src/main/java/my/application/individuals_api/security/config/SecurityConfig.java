@@ -1,12 +1,26 @@
 package my.application.individuals_api.security.config;
 
+import my.application.individuals_api.jfr.JfrJwtAuthenticationConverter;
+import my.application.individuals_api.revocation.RevokedTokenStore;
+import my.application.individuals_api.revocation.RevokedTokenValidator;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.ReactiveAuthorizationManager;
 import org.springframework.security.config.annotation.method.configuration.EnableReactiveMethodSecurity;
 import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusReactiveJwtDecoder;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
 import org.springframework.security.oauth2.server.resource.authentication.ReactiveJwtAuthenticationConverterAdapter;
 import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authorization.AuthorizationContext;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
 
 @Configuration
 @EnableReactiveMethodSecurity
@@ -18,16 +32,19 @@ public class SecurityConfig {
     public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
         return http
                 .authorizeExchange(exchanges -> exchanges
-                        .pathMatchers("/v1/auth/me").authenticated()
+                        .pathMatchers("/v1/auth/me", "/v1/auth/logout", "/v1/auth/introspect").authenticated()
                         .pathMatchers("/v1/auth/**").permitAll()
                         .pathMatchers("/actuator/**").permitAll()
+                        .pathMatchers("/internal/**").access(loopbackOnly())
                         .anyExchange().authenticated()
                 )
                 .oauth2ResourceServer(oauth2 -> oauth2
                         .jwt(jwt -> jwt
                                 .jwtAuthenticationConverter(
-                                        new ReactiveJwtAuthenticationConverterAdapter(
-                                                jwtAuthenticationConverter()
+                                        new JfrJwtAuthenticationConverter(
+                                                new ReactiveJwtAuthenticationConverterAdapter(
+                                                        jwtAuthenticationConverter()
+                                                )
                                         )
                                 )
                         )
@@ -37,6 +54,25 @@ public class SecurityConfig {
                 .build();
     }
 
+    @Bean
+    public ReactiveJwtDecoder jwtDecoder(@Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri}") String issuerUri,
+                                         RevokedTokenStore revokedTokenStore) {
+        NimbusReactiveJwtDecoder jwtDecoder = NimbusReactiveJwtDecoder.withIssuerLocation(issuerUri).build();
+        jwtDecoder.setJwtValidator(new DelegatingOAuth2TokenValidator<>(
+                JwtValidators.createDefaultWithIssuer(issuerUri),
+                new RevokedTokenValidator(revokedTokenStore)));
+        return jwtDecoder;
+    }
+
+    private ReactiveAuthorizationManager<AuthorizationContext> loopbackOnly() {
+        return (authentication, context) -> {
+            InetSocketAddress remoteAddress = context.getExchange().getRequest().getRemoteAddress();
+            return Mono.just(new AuthorizationDecision(remoteAddress != null
+                    && remoteAddress.getAddress() != null
+                    && remoteAddress.getAddress().isLoopbackAddress()));
+        };
+    }
+
     private JwtAuthenticationConverter jwtAuthenticationConverter() {
         JwtAuthenticationConverter converter = new JwtAuthenticationConverter();
         converter.setJwtGrantedAuthoritiesConverter(new KeycloakJwtAuthenticationConverter());
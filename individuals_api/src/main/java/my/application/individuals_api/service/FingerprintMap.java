@@ -0,0 +1,99 @@
+package my.application.individuals_api.service;
+
+/**
+ * Map from non-zero 64-bit keys to 64-bit values in a linear-probing table kept at most half full. Laid out like
+ * {@link FingerprintTable}, with the values in a parallel array. Not thread-safe.
+ */
+class FingerprintMap {
+
+    private long[] keys;
+    private long[] values;
+    private int size;
+
+    FingerprintMap(int initialCapacity) {
+        if (Integer.bitCount(initialCapacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + initialCapacity);
+        }
+        this.keys = new long[initialCapacity];
+        this.values = new long[initialCapacity];
+    }
+
+    boolean containsKey(long key) {
+        return keys[slot(keys, key)] == key;
+    }
+
+    // Returns the value for the key, or 0 if there is none.
+    long get(long key) {
+        int slot = slot(keys, key);
+        return keys[slot] == key ? values[slot] : 0;
+    }
+
+    // Returns the previous value for the key, or 0 if there was none.
+    long put(long key, long value) {
+        int slot = slot(keys, key);
+        if (keys[slot] == key) {
+            long previous = values[slot];
+            values[slot] = value;
+            return previous;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > keys.length / 2) {
+            resize();
+        }
+        return 0;
+    }
+
+    // Returns the removed value, or 0 if the key was absent.
+    long remove(long key) {
+        int slot = slot(keys, key);
+        if (keys[slot] != key) {
+            return 0;
+        }
+        long removed = values[slot];
+        keys[slot] = 0;
+        values[slot] = 0;
+        size--;
+        // Same backward-shift deletion as FingerprintTable.remove.
+        int mask = keys.length - 1;
+        int hole = slot;
+        for (int next = (hole + 1) & mask; keys[next] != 0; next = (next + 1) & mask) {
+            int home = FingerprintTable.home(keys[next], mask);
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                values[hole] = values[next];
+                keys[next] = 0;
+                values[next] = 0;
+                hole = next;
+            }
+        }
+        return removed;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void resize() {
+        long[] resizedKeys = new long[keys.length * 2];
+        long[] resizedValues = new long[keys.length * 2];
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                int slot = slot(resizedKeys, keys[i]);
+                resizedKeys[slot] = keys[i];
+                resizedValues[slot] = values[i];
+            }
+        }
+        keys = resizedKeys;
+        values = resizedValues;
+    }
+
+    private static int slot(long[] keys, long key) {
+        int mask = keys.length - 1;
+        int slot = FingerprintTable.home(key, mask);
+        while (keys[slot] != 0 && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+}
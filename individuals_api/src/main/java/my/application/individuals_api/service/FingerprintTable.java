@@ -0,0 +1,89 @@
+package my.application.individuals_api.service;
+
+/**
+ * Set of non-zero 64-bit fingerprints in a linear-probing table kept at most half full. Not thread-safe.
+ */
+class FingerprintTable {
+
+    private long[] table;
+    private int size;
+
+    FingerprintTable(int initialCapacity) {
+        if (Integer.bitCount(initialCapacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + initialCapacity);
+        }
+        this.table = new long[initialCapacity];
+    }
+
+    boolean contains(long fingerprint) {
+        return table[slot(table, fingerprint)] == fingerprint;
+    }
+
+    boolean add(long fingerprint) {
+        int slot = slot(table, fingerprint);
+        if (table[slot] == fingerprint) {
+            return false;
+        }
+        table[slot] = fingerprint;
+        if (++size > table.length / 2) {
+            resize();
+        }
+        return true;
+    }
+
+    boolean remove(long fingerprint) {
+        int slot = slot(table, fingerprint);
+        if (table[slot] != fingerprint) {
+            return false;
+        }
+        table[slot] = 0;
+        size--;
+        // Backward-shift deletion: move later entries of the probe chain into the hole unless that would put
+        // them before their home slot, so lookups never stop early at the emptied slot.
+        int mask = table.length - 1;
+        int hole = slot;
+        for (int next = (hole + 1) & mask; table[next] != 0; next = (next + 1) & mask) {
+            int home = home(table[next], mask);
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                table[hole] = table[next];
+                table[next] = 0;
+                hole = next;
+            }
+        }
+        return true;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int capacity() {
+        return table.length;
+    }
+
+    private void resize() {
+        long[] resized = new long[table.length * 2];
+        for (long fingerprint : table) {
+            if (fingerprint != 0) {
+                resized[slot(resized, fingerprint)] = fingerprint;
+            }
+        }
+        table = resized;
+    }
+
+    // Returns the slot holding the fingerprint or the empty slot where it belongs.
+    private static int slot(long[] table, long fingerprint) {
+        int mask = table.length - 1;
+        int slot = home(fingerprint, mask);
+        while (table[slot] != 0 && table[slot] != fingerprint) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    static int home(long fingerprint, int mask) {
+        fingerprint ^= fingerprint >>> 33;
+        fingerprint *= 0xff51afd7ed558ccdL;
+        return (int) (fingerprint ^ (fingerprint >>> 33)) & mask;
+    }
+}
@@ -0,0 +1,63 @@
+package my.application.individuals_api.service;
+
+import lombok.extern.slf4j.Slf4j;
+import my.application.individuals_api.logging.LogSampler;
+import my.application.individuals_api.response.IntrospectionResponse;
+import my.application.individuals_api.response.TokenIntrospectionResponse;
+import my.application.individuals_api.security.config.KeycloakJwtAuthenticationConverter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+
+/**
+ * Validates tokens the same way the resource server does (JWKS-cached signature, issuer and expiry checks)
+ * so downstream services do not have to call Keycloak's introspection endpoint per token.
+ */
+@Slf4j
+@Service
+public class IntrospectionService {
+
+    private static final int CONCURRENCY = Runtime.getRuntime().availableProcessors();
+
+    private final ReactiveJwtDecoder jwtDecoder;
+    private final LogSampler logSampler;
+    private final KeycloakJwtAuthenticationConverter authoritiesConverter = new KeycloakJwtAuthenticationConverter();
+
+    public IntrospectionService(ReactiveJwtDecoder jwtDecoder, LogSampler logSampler) {
+        this.jwtDecoder = jwtDecoder;
+        this.logSampler = logSampler;
+    }
+
+    public Mono<IntrospectionResponse> introspect(List<String> tokens) {
+        if (logSampler.sample("introspect")) {
+            log.info("Entering introspect method for {} tokens", tokens.size());
+        }
+        return Flux.fromIterable(tokens)
+                .flatMapSequential(token -> Mono.defer(() -> jwtDecoder.decode(token))
+                        .subscribeOn(Schedulers.parallel())
+                        .map(this::toActiveResponse)
+                        .onErrorResume(JwtException.class, ex -> Mono.just(TokenIntrospectionResponse.inactive(ex.getMessage()))), CONCURRENCY)
+                .collectList()
+                .map(IntrospectionResponse::new);
+    }
+
+    private TokenIntrospectionResponse toActiveResponse(Jwt jwt) {
+        List<String> roles = authoritiesConverter.convert(jwt).stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList();
+        return new TokenIntrospectionResponse(
+                true,
+                jwt.getSubject(),
+                jwt.getExpiresAt() != null ? jwt.getExpiresAt().getEpochSecond() : null,
+                roles,
+                jwt.getClaims(),
+                null);
+    }
+}
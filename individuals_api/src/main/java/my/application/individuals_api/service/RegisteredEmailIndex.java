@@ -0,0 +1,298 @@
+package my.application.individuals_api.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import my.application.individuals_api.exception.AuthException;
+import my.application.individuals_api.integration.KeycloakIntegration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static my.application.individuals_api.utils.Messages.USER_ALREADY_EXISTS;
+
+/**
+ * Index of emails already registered in the realm, used to answer repeated registrations with 409 without a user
+ * create. A Bloom filter rejects unknown emails with a few memory reads and a table of 64-bit fingerprints filters out
+ * its false positives. Each entry also remembers the user it belongs to, so {@link
+ * my.application.individuals_api.cache.KeycloakAdminEventsPoller} can evict it when that user is deleted or changes
+ * email.
+ *
+ * <p>A hit is answered locally only while that eviction is active, i.e. admin events are enabled for the realm and
+ * the poller keeps up with them. Otherwise, or with {@code registration.email-index.confirm-hits} set, a hit is
+ * confirmed with Keycloak first and an entry Keycloak does not confirm is dropped. Admin events do not cover a user
+ * changing their own email in the account console; realms that allow it should set {@code confirm-hits}.
+ */
+@Slf4j
+@Component
+public class RegisteredEmailIndex {
+
+    private static final int INITIAL_TABLE_SIZE = 1 << 16;
+
+    private final KeycloakIntegration keycloakIntegration;
+    private final boolean enabled;
+    private final boolean confirmHits;
+    private final int bootstrapPageSize;
+
+    private final AtomicLongArray bloom;
+    private final long bloomBits;
+    private final int hashFunctions;
+
+    private final ReadWriteLock tableLock = new ReentrantReadWriteLock();
+    private final FingerprintTable fingerprints = new FingerprintTable(INITIAL_TABLE_SIZE);
+    private final FingerprintMap emailsByUser = new FingerprintMap(INITIAL_TABLE_SIZE);
+
+    private volatile boolean evictionActive;
+
+    private final Counter confirmedDuplicates;
+    private final Counter staleEntries;
+    private final Counter falsePositives;
+
+    public RegisteredEmailIndex(KeycloakIntegration keycloakIntegration,
+                                MeterRegistry meterRegistry,
+                                @Value("${registration.email-index.enabled}") boolean enabled,
+                                @Value("${registration.email-index.expected-emails}") long expectedEmails,
+                                @Value("${registration.email-index.false-positive-rate}") double falsePositiveRate,
+                                @Value("${registration.email-index.bootstrap-page-size}") int bootstrapPageSize,
+                                @Value("${registration.email-index.confirm-hits}") boolean confirmHits) {
+        this.keycloakIntegration = keycloakIntegration;
+        this.enabled = enabled;
+        this.confirmHits = confirmHits;
+        this.bootstrapPageSize = bootstrapPageSize;
+
+        long bits = (long) Math.ceil(-expectedEmails * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bloomBits = Math.max(Long.SIZE, (bits + Long.SIZE - 1) / Long.SIZE * Long.SIZE);
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bloomBits / expectedEmails * Math.log(2)));
+        this.bloom = new AtomicLongArray(enabled ? (int) (bloomBits / Long.SIZE) : 1);
+
+        this.confirmedDuplicates = Counter.builder("registration.email-index.fast-fail")
+                .description("Registrations rejected as duplicates without a user create")
+                .register(meterRegistry);
+        this.staleEntries = Counter.builder("registration.email-index.stale")
+                .description("Index hits that Keycloak did not confirm, e.g. deleted users, and were dropped")
+                .register(meterRegistry);
+        this.falsePositives = Counter.builder("registration.email-index.bloom-false-positive")
+                .description("Bloom filter hits not confirmed by the fingerprint table")
+                .register(meterRegistry);
+        Gauge.builder("registration.email-index.size", this, RegisteredEmailIndex::size)
+                .description("Emails known to be registered")
+                .register(meterRegistry);
+        Gauge.builder("registration.email-index.expected-false-positive-rate", this, RegisteredEmailIndex::expectedFalsePositiveRate)
+                .description("Bloom filter false-positive rate at the current size")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrap() {
+        if (!enabled) {
+            return;
+        }
+        Flux.range(0, Integer.MAX_VALUE)
+                .concatMap(page -> keycloakIntegration.getUsersPage(page * bootstrapPageSize, bootstrapPageSize))
+                .takeUntil(page -> page.size() < bootstrapPageSize)
+                .flatMapIterable(page -> page)
+                .filter(user -> user.email() != null && !user.email().isEmpty())
+                .doOnNext(user -> add(user.id(), user.email()))
+                .count()
+                .subscribe(
+                        count -> log.info("Registered email index bootstrapped with {} users", count),
+                        e -> log.warn("Registered email index bootstrap failed, continuing with a partial index: {}", e.getMessage()));
+    }
+
+    public Mono<Void> checkNotRegistered(String email) {
+        return Mono.defer(() -> {
+            if (!isRegistered(email)) {
+                return Mono.empty();
+            }
+            if (evictionActive && !confirmHits) {
+                confirmedDuplicates.increment();
+                return Mono.error(new AuthException(USER_ALREADY_EXISTS, HttpStatus.CONFLICT));
+            }
+            return keycloakIntegration.existsUserWithEmail(email)
+                    .flatMap(exists -> {
+                        if (exists) {
+                            confirmedDuplicates.increment();
+                            return Mono.<Void>error(new AuthException(USER_ALREADY_EXISTS, HttpStatus.CONFLICT));
+                        }
+                        staleEntries.increment();
+                        remove(email);
+                        return Mono.<Void>empty();
+                    })
+                    // If the lookup itself fails, the create that follows gives the authoritative answer.
+                    .onErrorResume(e -> !(e instanceof AuthException), e -> Mono.empty());
+        });
+    }
+
+    /**
+     * Set by the admin events poller: {@code true} while deletions and email changes are evicted as they happen.
+     */
+    public void setEvictionActive(boolean evictionActive) {
+        this.evictionActive = evictionActive;
+    }
+
+    public boolean isRegistered(String email) {
+        if (!enabled) {
+            return false;
+        }
+        long[] hash = hash(email);
+        if (!bloomMightContain(hash)) {
+            return false;
+        }
+        tableLock.readLock().lock();
+        try {
+            if (fingerprints.contains(hash[2])) {
+                return true;
+            }
+        } finally {
+            tableLock.readLock().unlock();
+        }
+        falsePositives.increment();
+        return false;
+    }
+
+    /**
+     * Adds the user's email, replacing the one previously indexed for that user.
+     */
+    public void add(String userId, String email) {
+        if (!enabled) {
+            return;
+        }
+        long[] hash = hash(email);
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = bloomBit(hash, i);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = bloom.get(word);
+            } while ((current & mask) == 0 && !bloom.compareAndSet(word, current, current | mask));
+        }
+        long userKey = fingerprint(userId);
+        tableLock.writeLock().lock();
+        try {
+            long previous = emailsByUser.put(userKey, hash[2]);
+            if (previous != 0 && previous != hash[2]) {
+                fingerprints.remove(previous);
+            }
+            fingerprints.add(hash[2]);
+        } finally {
+            tableLock.writeLock().unlock();
+        }
+    }
+
+    public boolean containsUser(String userId) {
+        if (!enabled) {
+            return false;
+        }
+        long userKey = fingerprint(userId);
+        tableLock.readLock().lock();
+        try {
+            return emailsByUser.containsKey(userKey);
+        } finally {
+            tableLock.readLock().unlock();
+        }
+    }
+
+    // The Bloom bits stay set; the fingerprint table is what makes a removed email a miss again.
+    public void removeUser(String userId) {
+        if (!enabled) {
+            return;
+        }
+        long userKey = fingerprint(userId);
+        tableLock.writeLock().lock();
+        try {
+            long email = emailsByUser.remove(userKey);
+            if (email != 0) {
+                fingerprints.remove(email);
+            }
+        } finally {
+            tableLock.writeLock().unlock();
+        }
+    }
+
+    // Drops an email Keycloak no longer knows. Its user's entry stays until that user is removed, which then finds
+    // nothing left to remove unless the email was registered again; a miss only costs a user create that fails.
+    void remove(String email) {
+        long fingerprint = hash(email)[2];
+        tableLock.writeLock().lock();
+        try {
+            fingerprints.remove(fingerprint);
+        } finally {
+            tableLock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        tableLock.readLock().lock();
+        try {
+            return fingerprints.size();
+        } finally {
+            tableLock.readLock().unlock();
+        }
+    }
+
+    boolean bloomMightContain(String email) {
+        return bloomMightContain(hash(email));
+    }
+
+    long bloomBits() {
+        return bloomBits;
+    }
+
+    int hashFunctions() {
+        return hashFunctions;
+    }
+
+    private boolean bloomMightContain(long[] hash) {
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = bloomBit(hash, i);
+            if ((bloom.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long bloomBit(long[] hash, int i) {
+        return Long.remainderUnsigned(hash[0] + i * hash[1], bloomBits);
+    }
+
+    private double expectedFalsePositiveRate() {
+        return Math.pow(1 - Math.exp(-(double) hashFunctions * size() / bloomBits), hashFunctions);
+    }
+
+    // Two Bloom hashes and a non-zero fingerprint from independent parts of the SHA-256 of the normalized email.
+    private static long[] hash(String email) {
+        byte[] digest = sha256().digest(email.toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8));
+        ByteBuffer buffer = ByteBuffer.wrap(digest);
+        long fingerprint = buffer.getLong(16);
+        return new long[]{buffer.getLong(0), buffer.getLong(8), fingerprint == 0 ? 1 : fingerprint};
+    }
+
+    private static long fingerprint(String userId) {
+        long fingerprint = ByteBuffer.wrap(sha256().digest(userId.getBytes(StandardCharsets.UTF_8))).getLong(0);
+        return fingerprint == 0 ? 1 : fingerprint;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
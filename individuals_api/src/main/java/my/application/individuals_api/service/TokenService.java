@@ -2,15 +2,17 @@ package my.application.individuals_api.service;
 
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import my.application.individuals_api.audit.AuditEventType;
+import my.application.individuals_api.audit.AuditLog;
 import my.application.individuals_api.exception.AuthException;
-import my.application.individuals_api.integration.KeycloakConstants;
 import my.application.individuals_api.integration.KeycloakIntegration;
+import my.application.individuals_api.logging.LogSampler;
 import my.application.individuals_api.response.AuthResponse;
+import my.application.individuals_api.revocation.RevokedTokenStore;
 import my.application.individuals_api.utils.Messages;
 import org.springframework.http.HttpStatus;
+import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
-import org.springframework.util.LinkedMultiValueMap;
-import org.springframework.util.MultiValueMap;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Mono;
 
@@ -20,18 +22,30 @@ import reactor.core.publisher.Mono;
 public class TokenService {
 
     private final KeycloakIntegration keycloakIntegration;
+    private final AuditLog auditLog;
+    private final RevokedTokenStore revokedTokenStore;
+    private final LogSampler logSampler;
 
     public Mono<AuthResponse> refreshToken(String refreshToken) {
-        log.info("Entering refreshToken method");
-        return keycloakIntegration.getUserToken(createRefreshFormData(refreshToken))
+        if (logSampler.sample("token-refresh")) {
+            log.info("Entering refreshToken method");
+        }
+        return auditLog.audited(AuditEventType.TOKEN_REFRESH, HttpStatus.OK, null, keycloakIntegration.refreshUserToken(refreshToken)
                 .onErrorResume(WebClientResponseException.class,
-                        ex -> Mono.error(new AuthException(Messages.INVALID_OR_EXPIRED_REFRESH_TOKEN, HttpStatus.UNAUTHORIZED)));
+                        ex -> Mono.error(new AuthException(Messages.INVALID_OR_EXPIRED_REFRESH_TOKEN, HttpStatus.UNAUTHORIZED))));
     }
 
-    private MultiValueMap<String, String> createRefreshFormData(String refreshToken) {
-        MultiValueMap<String, String> formData = new LinkedMultiValueMap<>();
-        formData.add(KeycloakConstants.GRANT_TYPE, KeycloakConstants.REFRESH_TOKEN);
-        formData.add(KeycloakConstants.REFRESH_TOKEN, refreshToken);
-        return formData;
+    public Mono<Void> logout(Jwt accessToken, String refreshToken) {
+        if (logSampler.sample("logout")) {
+            log.info("Entering logout method for user ID: {}", accessToken.getSubject());
+        }
+        // The access token is revoked before, and regardless of, the Keycloak logout: the caller has proven it holds
+        // that token and asked to end the session, so it must stop working even if the refresh token is already
+        // invalid or Keycloak is unreachable. Revoking a token its owner no longer wants has no downside to undo.
+        return auditLog.audited(AuditEventType.LOGOUT, HttpStatus.NO_CONTENT, accessToken.getSubject(),
+                Mono.fromRunnable(() -> revokedTokenStore.revoke(accessToken.getId(), accessToken.getExpiresAt()))
+                        .then(keycloakIntegration.logout(refreshToken))
+                        .onErrorResume(WebClientResponseException.class,
+                                ex -> Mono.error(new AuthException(Messages.INVALID_OR_EXPIRED_REFRESH_TOKEN, HttpStatus.UNAUTHORIZED))));
     }
 }
@@ -1,63 +1,121 @@
 package my.application.individuals_api.service;
 
-import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import my.application.individuals_api.audit.AuditEventType;
+import my.application.individuals_api.audit.AuditLog;
+import my.application.individuals_api.cache.KeycloakUserCache;
 import my.application.individuals_api.exception.AuthException;
-import my.application.individuals_api.integration.KeycloakConstants;
 import my.application.individuals_api.integration.KeycloakIntegration;
+import my.application.individuals_api.logging.LogSampler;
+import my.application.individuals_api.password.PasswordPolicy;
 import my.application.individuals_api.request.RegistrationRequest;
 import my.application.individuals_api.response.AuthResponse;
 import my.application.individuals_api.response.UserInfoResponse;
+import my.application.individuals_api.response.UserLookupResponse;
+import my.application.individuals_api.timing.RequestTimings;
 import my.application.individuals_api.utils.ValidationUtils;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
-import org.springframework.util.LinkedMultiValueMap;
-import org.springframework.util.MultiValueMap;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 
 import java.time.Instant;
+import java.util.LinkedHashSet;
+import java.util.List;
 
 import static my.application.individuals_api.utils.Messages.INVALID_EMAIL_OR_PASSWORD;
+import static my.application.individuals_api.utils.Messages.USER_LOOKUP_FAILED;
 
 @Slf4j
 @Service
-@AllArgsConstructor
 public class UserService {
     private final KeycloakIntegration keycloakIntegration;
+    private final KeycloakUserCache keycloakUserCache;
+    private final PasswordPolicy passwordPolicy;
+    private final RegisteredEmailIndex registeredEmailIndex;
+    private final AuditLog auditLog;
+    private final LogSampler logSampler;
+    private final int lookupConcurrency;
+
+    public UserService(KeycloakIntegration keycloakIntegration,
+                       KeycloakUserCache keycloakUserCache,
+                       PasswordPolicy passwordPolicy,
+                       RegisteredEmailIndex registeredEmailIndex,
+                       AuditLog auditLog,
+                       LogSampler logSampler,
+                       @Value("${user-lookup.concurrency}") int lookupConcurrency) {
+        this.keycloakIntegration = keycloakIntegration;
+        this.keycloakUserCache = keycloakUserCache;
+        this.passwordPolicy = passwordPolicy;
+        this.registeredEmailIndex = registeredEmailIndex;
+        this.auditLog = auditLog;
+        this.logSampler = logSampler;
+        this.lookupConcurrency = lookupConcurrency;
+    }
 
     public Mono<AuthResponse> registerUser(RegistrationRequest request) {
-        log.info("Entering registerUser method with email: {}", request.email());
-        return ValidationUtils.validatePassword(request.password(), request.confirmPassword())
+        if (logSampler.sample("registration")) {
+            log.info("Entering registerUser method with email: {}", request.email());
+        }
+        return auditLog.audited(AuditEventType.REGISTRATION, HttpStatus.CREATED, request.email(),
+                RequestTimings.timed("validation", ValidationUtils.validatePassword(request.password(), request.confirmPassword())
+                        .then(passwordPolicy.validate(request.password())))
+                .then(registeredEmailIndex.checkNotRegistered(request.email()))
                 .then(keycloakIntegration.createUser(request.email(), request.password())
-                        .then(loginUser(request.email(), request.password())));
+                        .doOnNext(userId -> registeredEmailIndex.add(userId, request.email()))
+                        .then(requestToken(request.email(), request.password()))));
     }
 
     public Mono<AuthResponse> loginUser(String username, String password) {
-        log.info("Entering loginUser method for username: {}", username);
-        return keycloakIntegration.getUserToken(createLoginFormData(username, password))
+        if (logSampler.sample("login")) {
+            log.info("Entering loginUser method for username: {}", username);
+        }
+        return auditLog.audited(AuditEventType.LOGIN, HttpStatus.OK, username, requestToken(username, password));
+    }
+
+    public Mono<UserInfoResponse> getUserInfo(Jwt jwt) {
+        if (logSampler.sample("user-info")) {
+            log.info("Entering getUserInfo method for user ID: {}", jwt.getSubject());
+        }
+        return auditLog.audited(AuditEventType.USER_INFO, HttpStatus.OK, jwt.getSubject(), fetchUserInfo(jwt.getSubject()));
+    }
+
+    public Flux<UserLookupResponse> lookupUsers(List<String> userIds) {
+        if (logSampler.sample("user-lookup")) {
+            log.info("Entering lookupUsers method for {} ids", userIds.size());
+        }
+        // A failed id becomes an error line of its own instead of ending the stream for all the others.
+        return Flux.fromIterable(new LinkedHashSet<>(userIds))
+                .flatMap(userId -> fetchUserInfo(userId)
+                        .map(UserLookupResponse::found)
+                        .onErrorResume(ex -> Mono.just(UserLookupResponse.failed(userId, lookupError(userId, ex)))),
+                        lookupConcurrency);
+    }
+
+    private static String lookupError(String userId, Throwable ex) {
+        if (ex instanceof AuthException authException) {
+            return authException.getMessage();
+        }
+        log.warn("User lookup failed for user ID {}: {}", userId, ex.toString());
+        return USER_LOOKUP_FAILED;
+    }
+
+    // Registration audits its own sign-in as part of the REGISTRATION event, so this is not audited as a LOGIN.
+    private Mono<AuthResponse> requestToken(String username, String password) {
+        return keycloakIntegration.getUserToken(username, password)
                 .onErrorResume(WebClientResponseException.class,
                         ex -> Mono.error(new AuthException(INVALID_EMAIL_OR_PASSWORD, HttpStatus.UNAUTHORIZED)));
     }
 
-    public Mono<UserInfoResponse> getUserInfo(Jwt jwt) {
-        log.info("Entering getUserInfo method for user ID: {}", jwt.getSubject());
-        return keycloakIntegration.getUserById(jwt.getSubject())
-                .publishOn(Schedulers.boundedElastic())
-                .map(keycloakUserRepresentation -> new UserInfoResponse(
-                        keycloakUserRepresentation.id(),
-                        keycloakUserRepresentation.email(),
-                        keycloakIntegration.getRolesByUserId(jwt.getSubject()).block(),
-                        Instant.ofEpochMilli(keycloakUserRepresentation.createdTimestamp())));
-    }
-
-    private MultiValueMap<String, String> createLoginFormData(String username, String password) {
-        MultiValueMap<String, String> formData = new LinkedMultiValueMap<>();
-        formData.add(KeycloakConstants.GRANT_TYPE, KeycloakConstants.PASSWORD);
-        formData.add(KeycloakConstants.USERNAME, username);
-        formData.add(KeycloakConstants.PASSWORD, password);
-        return formData;
+    private Mono<UserInfoResponse> fetchUserInfo(String userId) {
+        return Mono.zip(keycloakUserCache.getUser(userId), keycloakUserCache.getRoles(userId))
+                .map(userAndRoles -> new UserInfoResponse(
+                        userAndRoles.getT1().id(),
+                        userAndRoles.getT1().email(),
+                        userAndRoles.getT2(),
+                        Instant.ofEpochMilli(userAndRoles.getT1().createdTimestamp())));
     }
 }
@@ -0,0 +1,106 @@
+package my.application.individuals_api.timing;
+
+import lombok.Getter;
+import reactor.core.publisher.Mono;
+
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Phase durations of a single request. Created by {@link ServerTimingWebFilter} and propagated through the
+ * Reactor context, so any operator in the request pipeline can attribute its time to a named phase.
+ */
+public class RequestTimings {
+
+    public static final Class<RequestTimings> CONTEXT_KEY = RequestTimings.class;
+
+    static final String SERIALIZE = "serialize";
+    static final String TOTAL = "total";
+
+    private static final int MAX_PHASES = 16;
+
+    @Getter
+    private final String requestId;
+    private final long startedAt;
+    private final String[] phases = new String[MAX_PHASES];
+    private final long[] durations = new long[MAX_PHASES];
+    private int count;
+    private volatile long handledAt;
+
+    RequestTimings(String requestId) {
+        this.requestId = requestId;
+        this.startedAt = System.nanoTime();
+    }
+
+    public static <T> Mono<T> timed(String phase, Mono<T> source) {
+        return Mono.deferContextual(context -> {
+            RequestTimings timings = context.getOrDefault(CONTEXT_KEY, null);
+            if (timings == null) {
+                return source;
+            }
+            long start = System.nanoTime();
+            return source.doFinally(signal -> timings.record(phase, System.nanoTime() - start));
+        });
+    }
+
+    // Marks the moment the controller produced its result; whatever happens until the response is
+    // committed is body encoding.
+    public static <T> Mono<T> handled(Mono<T> source) {
+        return Mono.deferContextual(context -> {
+            RequestTimings timings = context.getOrDefault(CONTEXT_KEY, null);
+            if (timings == null) {
+                return source;
+            }
+            return source.doOnSuccess(ignored -> timings.handledAt = System.nanoTime());
+        });
+    }
+
+    // Repeated phases, e.g. one Keycloak call per id of a bulk lookup, are summed into a single entry, so the
+    // number of entries is bounded by the number of distinct phase names rather than by the number of calls.
+    public synchronized void record(String phase, long nanos) {
+        for (int i = 0; i < count; i++) {
+            if (phases[i].equals(phase)) {
+                durations[i] += nanos;
+                return;
+            }
+        }
+        if (count < MAX_PHASES) {
+            phases[count] = phase;
+            durations[count] = nanos;
+            count++;
+        }
+    }
+
+    void markCommitted() {
+        long now = System.nanoTime();
+        if (handledAt != 0) {
+            record(SERIALIZE, now - handledAt);
+        }
+        record(TOTAL, now - startedAt);
+    }
+
+    synchronized void forEach(ObjLongConsumer<String> consumer) {
+        for (int i = 0; i < count; i++) {
+            consumer.accept(phases[i], durations[i]);
+        }
+    }
+
+    synchronized String toHeaderValue() {
+        StringBuilder header = new StringBuilder(count * 24);
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                header.append(", ");
+            }
+            long micros = durations[i] / 1_000;
+            header.append(phases[i]).append(";dur=").append(micros / 1_000).append('.');
+            long fraction = micros % 1_000;
+            if (fraction < 100) {
+                header.append('0');
+            }
+            if (fraction < 10) {
+                header.append('0');
+            }
+            header.append(fraction);
+        }
+        return header.toString();
+    }
+}
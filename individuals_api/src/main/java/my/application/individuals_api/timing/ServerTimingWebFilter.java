@@ -0,0 +1,57 @@
+package my.application.individuals_api.timing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServerTimingWebFilter implements WebFilter {
+
+    private static final String SERVER_TIMING = "Server-Timing";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean headerEnabled;
+    private final Map<String, Timer> phaseTimers = new ConcurrentHashMap<>();
+
+    public ServerTimingWebFilter(MeterRegistry meterRegistry,
+                                 @Value("${server-timing.header-enabled}") boolean headerEnabled) {
+        this.meterRegistry = meterRegistry;
+        this.headerEnabled = headerEnabled;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        RequestTimings timings = new RequestTimings(exchange.getRequest().getId());
+        exchange.getResponse().beforeCommit(() -> {
+            timings.markCommitted();
+            if (headerEnabled) {
+                exchange.getResponse().getHeaders().add(SERVER_TIMING, timings.toHeaderValue());
+            }
+            return Mono.empty();
+        });
+        return chain.filter(exchange)
+                .doFinally(signal -> timings.forEach(this::recordPhase))
+                .contextWrite(context -> context.put(RequestTimings.CONTEXT_KEY, timings));
+    }
+
+    private void recordPhase(String phase, long nanos) {
+        phaseTimers.computeIfAbsent(phase, name -> Timer.builder("http.server.phase")
+                        .description("Time spent per request phase")
+                        .tag("phase", name)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,50 @@
+package my.application.individuals_api.utils;
+
+import my.application.individuals_api.response.UserInfoResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+
+public class ETags {
+
+    // 128 bits of SHA-256 is plenty to tell two versions of the same user apart.
+    private static final int TAG_BYTES = 16;
+
+    /**
+     * Strong ETag (quoted, without {@code W/}) of the fields {@link UserInfoResponse} is serialized from, in the order
+     * they are serialized. Roles arrive sorted from {@code KeycloakIntegration.getRolesByUserId}, so the same user
+     * always gets the same body and the same tag.
+     */
+    public static String userInfo(UserInfoResponse userInfo) {
+        MessageDigest digest = sha256();
+        update(digest, userInfo.id());
+        update(digest, userInfo.email());
+        if (userInfo.roles() != null) {
+            for (String role : userInfo.roles()) {
+                update(digest, role);
+            }
+        }
+        update(digest, userInfo.createdAt() == null ? null : userInfo.createdAt().toString());
+        byte[] hash = digest.digest();
+        return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(hash, TAG_BYTES)) + "\"";
+    }
+
+    // Each value is terminated by a NUL so that ("ab", "c") and ("a", "bc") hash differently.
+    private static void update(MessageDigest digest, String value) {
+        if (value != null) {
+            digest.update(value.getBytes(StandardCharsets.UTF_8));
+        }
+        digest.update((byte) 0);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -7,4 +7,12 @@ public class Messages {
     public static final String USER_ALREADY_EXISTS = "User with this email already exists";
     public static final String PASSWORD_DOES_NOT_MATH = "Password confirmation does not match";
     public static final String USER_NOT_FOUND = "User not found";
+    public static final String PASSWORD_TOO_SHORT = "Password is too short";
+    public static final String PASSWORD_TOO_WEAK = "Password must mix more character types";
+    public static final String PASSWORD_BREACHED = "Password has appeared in a data breach, choose another one";
+    public static final String SERVICE_OVERLOADED = "Service is overloaded, retry later";
+    public static final String ACCESS_DENIED = "Access denied";
+    public static final String INVALID_REQUEST = "Invalid request";
+    public static final String USER_LOOKUP_FAILED = "User lookup failed";
+    public static final String UNEXPECTED_SERVER_ERROR = "Unexpected server error";
 }
@@ -1,13 +1,17 @@
 package my.application.individuals_api;
 
 import com.jayway.jsonpath.JsonPath;
+import io.rsocket.exceptions.ApplicationErrorException;
+import my.application.individuals_api.request.LoginRequest;
 import my.application.individuals_api.response.AuthResponse;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.rsocket.server.LocalRSocketServerPort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.messaging.rsocket.RSocketRequester;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
@@ -16,6 +20,8 @@ import java.util.Objects;
 
 import static my.application.individuals_api.utils.Messages.*;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @Testcontainers
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
@@ -24,6 +30,12 @@ public class AuthControllerIT extends KeycloakTestBase {
     @Autowired
     private WebTestClient webTestClient;
 
+    @Autowired
+    private RSocketRequester.Builder rsocketRequesterBuilder;
+
+    @LocalRSocketServerPort
+    private int rsocketPort;
+
     @Test
     @DisplayName("Successful login should return valid access and refresh tokens")
     void login_ShouldReturnTokens() {
@@ -299,6 +311,207 @@ public class AuthControllerIT extends KeycloakTestBase {
                 .jsonPath("$.status").isEqualTo(401);
     }
 
+    @Test
+    @DisplayName("Logout should revoke the access token and the refresh token")
+    void logout_ShouldRevokeAccessAndRefreshTokens() {
+        // Given - login to get tokens
+        AuthResponse tokens = webTestClient.post().uri("/v1/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("""
+                    {
+                        "email": "user1@example.com",
+                        "password": "SecurePassword123"
+                    }
+                    """)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(AuthResponse.class)
+                .getResponseBody()
+                .blockFirst();
+
+        assertNotNull(tokens, "Токены должны быть получены при логине");
+
+        // When
+        webTestClient.post().uri("/v1/auth/logout")
+                .header("Authorization", "Bearer " + tokens.accessToken())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("""
+                    {
+                        "refresh_token": "%s"
+                    }
+                    """.formatted(tokens.refreshToken()))
+                .exchange()
+                .expectStatus().isNoContent();
+
+        // Then - access token больше не принимается, refresh token отозван в Keycloak
+        webTestClient.get().uri("/v1/auth/me")
+                .header("Authorization", "Bearer " + tokens.accessToken())
+                .exchange()
+                .expectStatus().isUnauthorized()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo(INVALID_OR_EXPIRED_ACCESS_TOKEN);
+
+        webTestClient.post().uri("/v1/auth/refresh-token")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("""
+                    {
+                        "refresh_token": "%s"
+                    }
+                    """.formatted(tokens.refreshToken()))
+                .exchange()
+                .expectStatus().isUnauthorized()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo(INVALID_OR_EXPIRED_REFRESH_TOKEN);
+    }
+
+    @Test
+    @DisplayName("Repeated /me with a matching If-None-Match should return 304 without a body")
+    void me_ShouldReturn304_WhenETagMatches() {
+        // Given - токен и ETag первого ответа
+        String token = webTestClient.post().uri("/v1/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("""
+                    {
+                        "email": "user1@example.com",
+                        "password": "SecurePassword123"
+                    }
+                    """)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(AuthResponse.class)
+                .getResponseBody()
+                .blockFirst()
+                .accessToken();
+
+        String eTag = webTestClient.get().uri("/v1/auth/me")
+                .header("Authorization", "Bearer " + token)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueMatches("ETag", "\"[A-Za-z0-9_-]+\"")
+                .returnResult(String.class)
+                .getResponseHeaders()
+                .getETag();
+
+        // When
+        webTestClient.get().uri("/v1/auth/me")
+                .header("Authorization", "Bearer " + token)
+                .ifNoneMatch(eTag)
+                .exchange()
+
+                // Then - тело не передаётся, ETag тот же
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals("ETag", eTag)
+                .expectBody().isEmpty();
+    }
+
+    @Test
+    @DisplayName("Bulk user lookup should return 403 without the view-users role")
+    void lookupUsers_ShouldReturn403_WhenRoleMissing() {
+        // Given - обычный пользователь без роли view-users
+        String token = webTestClient.post().uri("/v1/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("""
+                    {
+                        "email": "user1@example.com",
+                        "password": "SecurePassword123"
+                    }
+                    """)
+                .exchange()
+                .returnResult(AuthResponse.class)
+                .getResponseBody()
+                .map(AuthResponse::accessToken)
+                .blockFirst();
+
+        // When
+        webTestClient.post().uri("/v1/users/lookup")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("""
+                    {
+                        "ids": ["any-id"]
+                    }
+                    """)
+                .exchange()
+
+                // Then
+                .expectStatus().isForbidden()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo(ACCESS_DENIED)
+                .jsonPath("$.status").isEqualTo(403);
+    }
+
+    @Test
+    @DisplayName("Token introspection should return 401 without a token")
+    void introspect_ShouldReturn401_WhenNoToken() {
+        // Given - no token
+
+        // When
+        webTestClient.post().uri("/v1/auth/introspect")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("""
+                    {
+                        "tokens": ["any.token.value"]
+                    }
+                    """)
+                .exchange()
+
+                // Then
+                .expectStatus().isUnauthorized()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo(INVALID_OR_EXPIRED_ACCESS_TOKEN)
+                .jsonPath("$.status").isEqualTo(401);
+    }
+
+    @Test
+    @DisplayName("Token introspection should return 403 without the introspect-tokens role")
+    void introspect_ShouldReturn403_WhenRoleMissing() {
+        // Given - обычный пользователь без роли introspect-tokens
+        String token = login("user1@example.com", "SecurePassword123");
+
+        // When
+        webTestClient.post().uri("/v1/auth/introspect")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("""
+                    {
+                        "tokens": ["%s"]
+                    }
+                    """.formatted(token))
+                .exchange()
+
+                // Then
+                .expectStatus().isForbidden()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo(ACCESS_DENIED)
+                .jsonPath("$.status").isEqualTo(403);
+    }
+
+    @Test
+    @DisplayName("Token introspection should validate tokens for a caller with the introspect-tokens role")
+    void introspect_ShouldReturnResults_WhenCallerHasRole() {
+        // Given - сервисный пользователь с ролью introspect-tokens и токен обычного пользователя
+        String serviceToken = login("introspector@example.com", "SecurePassword123");
+        String userToken = login("user1@example.com", "SecurePassword123");
+
+        // When
+        webTestClient.post().uri("/v1/auth/introspect")
+                .header("Authorization", "Bearer " + serviceToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("""
+                    {
+                        "tokens": ["%s", "invalid.token.here"]
+                    }
+                    """.formatted(userToken))
+                .exchange()
+
+                // Then
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.results[0].active").isEqualTo(true)
+                .jsonPath("$.results[0].sub").isNotEmpty()
+                .jsonPath("$.results[1].active").isEqualTo(false);
+    }
+
     @Test
     @DisplayName("Current user endpoint should return authenticated user's information")
     void getCurrentUser_ShouldReturnUserInfo() {
@@ -383,4 +596,43 @@ public class AuthControllerIT extends KeycloakTestBase {
                 .jsonPath("$.error").isEqualTo(INVALID_OR_EXPIRED_ACCESS_TOKEN)
                 .jsonPath("$.status").isEqualTo(401);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("RSocket login should return 400 when the email is missing")
+    void rsocketLogin_ShouldReturn400_WhenEmailMissing() {
+        // Given
+        RSocketRequester requester = rsocketRequesterBuilder
+                .dataMimeType(MediaType.APPLICATION_CBOR)
+                .tcp("localhost", rsocketPort);
+
+        try {
+            // When
+            ApplicationErrorException error = assertThrows(ApplicationErrorException.class, () -> requester.route("auth.login")
+                    .data(new LoginRequest(null, "SecurePassword123"))
+                    .retrieveMono(AuthResponse.class)
+                    .block());
+
+            // Then
+            assertTrue(error.getMessage().startsWith("400 " + INVALID_REQUEST + ": email"), error.getMessage());
+        } finally {
+            requester.dispose();
+        }
+    }
+
+    private String login(String email, String password) {
+        return webTestClient.post().uri("/v1/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("""
+                    {
+                        "email": "%s",
+                        "password": "%s"
+                    }
+                    """.formatted(email, password))
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(AuthResponse.class)
+                .getResponseBody()
+                .map(AuthResponse::accessToken)
+                .blockFirst();
+    }
+}
@@ -0,0 +1,69 @@
+package my.application.individuals_api;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Appends benchmark results to the Markdown table in {@code benchmark-results.md} (set by {@code ./gradlew benchmark}
+ * through {@code -Dbenchmark.results.file}), so that measured numbers are committed next to the code they describe.
+ * Without the property results are only printed.
+ */
+public class BenchmarkResults {
+
+    private static final String HEADER = """
+            # Benchmark results
+
+            Appended by `./gradlew benchmark`; commit the rows measured on the reference machine.
+
+            | Date | JDK | Hardware | Benchmark | Case | Result |
+            |------|-----|----------|-----------|------|--------|
+            """;
+
+    public static void record(String benchmark, String benchmarkCase, String result) {
+        System.out.printf("%-28s %-24s %s%n", benchmark, benchmarkCase, result);
+        String file = System.getProperty("benchmark.results.file");
+        if (file == null || file.isBlank()) {
+            return;
+        }
+        String row = "| %s | %s | %s | %s | %s | %s |%n".formatted(LocalDate.now(), Runtime.version(), hardware(),
+                benchmark, benchmarkCase, result);
+        try {
+            Path path = Path.of(file);
+            if (!Files.exists(path)) {
+                Files.writeString(path, HEADER, UTF_8);
+            }
+            Files.writeString(path, row, UTF_8, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // CPU model (where the OS exposes it), processors available to the JVM and platform, e.g.
+    // "AMD EPYC 7B13 x8, linux/amd64".
+    private static String hardware() {
+        String cpu = System.getProperty("os.arch");
+        Path cpuInfo = Path.of("/proc/cpuinfo");
+        try {
+            if (Files.isReadable(cpuInfo)) {
+                try (Stream<String> lines = Files.lines(cpuInfo)) {
+                    cpu = lines.filter(line -> line.startsWith("model name"))
+                            .map(line -> line.substring(line.indexOf(':') + 1).trim())
+                            .findFirst()
+                            .orElse(cpu);
+                }
+            }
+        } catch (IOException | UncheckedIOException e) {
+            // Keep the architecture only.
+        }
+        return "%s x%d, %s/%s".formatted(cpu, Runtime.getRuntime().availableProcessors(),
+                System.getProperty("os.name").toLowerCase(Locale.ROOT), System.getProperty("os.arch"));
+    }
+}
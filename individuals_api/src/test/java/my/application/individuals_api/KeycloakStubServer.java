@@ -0,0 +1,177 @@
+package my.application.individuals_api;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JOSEObjectType;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import org.reactivestreams.Publisher;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+import reactor.netty.resources.LoopResources;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * In-process stand-in for the Keycloak endpoints the service calls: OIDC discovery, JWKS, token, logout and the
+ * admin user/role endpoints. Tokens are RS256-signed with a key generated at startup, so the resource server
+ * validates them exactly as it would Keycloak's. All responses are precomputed and the server runs on its own
+ * {@value #THREAD_PREFIX} event loop, which lets measurements tell its threads apart from the service's.
+ */
+public class KeycloakStubServer implements AutoCloseable {
+
+    public static final String THREAD_PREFIX = "keycloak-stub";
+    public static final String REALM = "my-app-realm";
+    public static final String USER_ID = "5b1f4a7e-2f0c-4a57-9d1e-3f1c2b7a9e10";
+    public static final String USER_EMAIL = "user1@example.com";
+    public static final String USER_PASSWORD = "SecurePassword123";
+    public static final String REFRESH_TOKEN = "stub-refresh-token";
+
+    private final RSAKey signingKey;
+    private final LoopResources loopResources = LoopResources.create(THREAD_PREFIX, 1, true);
+    private final DisposableServer server;
+    private final String issuer;
+    private final String accessToken;
+    private final byte[] openidConfiguration;
+    private final byte[] jwks;
+    private final byte[] tokenResponse;
+    private final byte[] user;
+    private final byte[] roles;
+
+    public KeycloakStubServer() {
+        try {
+            this.signingKey = new RSAKeyGenerator(2048).keyID("stub").generate();
+        } catch (JOSEException e) {
+            throw new IllegalStateException(e);
+        }
+        this.server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .runOn(loopResources)
+                .route(routes -> routes
+                        .get("/realms/{realm}/.well-known/openid-configuration", (request, response) -> json(request, response, openidConfiguration()))
+                        .get("/realms/{realm}/protocol/openid-connect/certs", (request, response) -> json(request, response, jwks()))
+                        .post("/realms/{realm}/protocol/openid-connect/token", (request, response) -> json(request, response, tokenResponse()))
+                        .post("/realms/{realm}/protocol/openid-connect/logout", (request, response) -> empty(request, response, HttpResponseStatus.NO_CONTENT))
+                        .get("/admin/realms/{realm}/users", (request, response) -> json(request, response, "[]".getBytes(UTF_8)))
+                        .post("/admin/realms/{realm}/users", (request, response) -> created(request, response,
+                                baseUrl() + "/admin/realms/" + REALM + "/users/" + UUID.randomUUID()))
+                        .get("/admin/realms/{realm}/users/{id}", (request, response) -> json(request, response, user()))
+                        .get("/admin/realms/{realm}/users/{id}/role-mappings/realm", (request, response) -> json(request, response, roles())))
+                .bindNow();
+
+        this.issuer = baseUrl() + "/realms/" + REALM;
+        this.accessToken = signAccessToken(UUID.randomUUID().toString(), Instant.now().plusSeconds(24 * 3600));
+        this.openidConfiguration = ("{\"issuer\":\"" + issuer + "\",\"jwks_uri\":\"" + issuer + "/protocol/openid-connect/certs\"}").getBytes(UTF_8);
+        this.jwks = new JWKSet(signingKey.toPublicJWK()).toString().getBytes(UTF_8);
+        this.tokenResponse = ("{\"access_token\":\"" + accessToken + "\",\"expires_in\":86400,\"refresh_token\":\""
+                + REFRESH_TOKEN + "\",\"token_type\":\"Bearer\"}").getBytes(UTF_8);
+        this.user = ("{\"id\":\"" + USER_ID + "\",\"email\":\"" + USER_EMAIL + "\",\"createdTimestamp\":1700000000000}").getBytes(UTF_8);
+        this.roles = "[{\"id\":\"1\",\"name\":\"ROLE_user\",\"description\":null}]".getBytes(UTF_8);
+    }
+
+    public String baseUrl() {
+        return "http://localhost:" + server.port();
+    }
+
+    public String accessToken() {
+        return accessToken;
+    }
+
+    /**
+     * Signs a fresh access token for the stub user, e.g. one that a test is about to revoke.
+     */
+    public String signAccessToken(String jti, Instant expiresAt) {
+        return signAccessToken(jti, expiresAt, List.of("ROLE_user"));
+    }
+
+    public String signAccessToken(String jti, Instant expiresAt, List<String> roles) {
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .issuer(issuer)
+                .subject(USER_ID)
+                .jwtID(jti)
+                .issueTime(new Date())
+                .expirationTime(Date.from(expiresAt))
+                .claim("email", USER_EMAIL)
+                .claim("roles", roles)
+                .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256)
+                .keyID(signingKey.getKeyID())
+                .type(JOSEObjectType.JWT)
+                .build(), claims);
+        try {
+            jwt.sign(new RSASSASigner(signingKey));
+        } catch (JOSEException e) {
+            throw new IllegalStateException(e);
+        }
+        return jwt.serialize();
+    }
+
+    public void registerProperties(DynamicPropertyRegistry registry) {
+        registry.add("keycloak.auth-server-url", this::baseUrl);
+        registry.add("keycloak.realm", () -> REALM);
+        registry.add("spring.security.oauth2.resourceserver.jwt.issuer-uri", () -> issuer);
+        registry.add("spring.rsocket.server.port", () -> 0);
+        registry.add("keycloak.admin-events.enabled", () -> false);
+    }
+
+    @Override
+    public void close() {
+        server.disposeNow();
+        loopResources.dispose();
+    }
+
+    // Routes are registered before the port is known; the bodies that embed it are read at request time.
+    private byte[] openidConfiguration() {
+        return openidConfiguration;
+    }
+
+    private byte[] jwks() {
+        return jwks;
+    }
+
+    private byte[] tokenResponse() {
+        return tokenResponse;
+    }
+
+    private byte[] user() {
+        return user;
+    }
+
+    private byte[] roles() {
+        return roles;
+    }
+
+    private static Publisher<Void> json(HttpServerRequest request, HttpServerResponse response, byte[] body) {
+        return request.receive().then(response
+                .header(HttpHeaderNames.CONTENT_TYPE, "application/json")
+                .sendByteArray(Mono.just(body))
+                .then());
+    }
+
+    private static Publisher<Void> created(HttpServerRequest request, HttpServerResponse response, String location) {
+        return request.receive().then(response.status(HttpResponseStatus.CREATED)
+                .header(HttpHeaderNames.LOCATION, location)
+                .send());
+    }
+
+    private static Publisher<Void> empty(HttpServerRequest request, HttpServerResponse response, HttpResponseStatus status) {
+        return request.receive().then(response.status(status).send());
+    }
+}
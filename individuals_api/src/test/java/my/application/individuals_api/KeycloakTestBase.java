@@ -7,6 +7,9 @@ import org.testcontainers.containers.wait.strategy.Wait;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.utility.MountableFile;
 
+import java.io.IOException;
+import java.nio.file.Files;
+
 public abstract class KeycloakTestBase {
 
     @Container
@@ -27,7 +30,7 @@ public abstract class KeycloakTestBase {
     }
 
     @DynamicPropertySource
-    static void registerProperties(DynamicPropertyRegistry registry) {
+    static void registerProperties(DynamicPropertyRegistry registry) throws IOException {
         registry.add("keycloak.auth-server-url",
                 () -> "http://localhost:" + KEYCLOAK_CONTAINER.getMappedPort(8080));
         registry.add("keycloak.realm", () -> "my-app-realm");
@@ -35,6 +38,11 @@ public abstract class KeycloakTestBase {
         registry.add("keycloak.client-secret", () -> "pYeKYYS6Yp1YziNjgDjQPHgtu7RbwPog");
         registry.add("keycloak.admin.username", () -> "my_user_manager");
         registry.add("keycloak.admin.password", () -> "my_user_manager_password");
+        registry.add("spring.rsocket.server.port", () -> 0);
+        registry.add("keycloak.admin-events.enabled", () -> false);
+        String auditDirectory = Files.createTempDirectory("audit-it").toString();
+        registry.add("audit.enabled", () -> true);
+        registry.add("audit.directory", () -> auditDirectory);
         registry.add("spring.security.oauth2.resourceserver.jwt.issuer-uri",
                 () -> "http://localhost:" + KEYCLOAK_CONTAINER.getMappedPort(8080) + "/realms/my-app-realm");
     }
@@ -0,0 +1,180 @@
+package my.application.individuals_api.admission;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EndpointLimiterTest {
+
+    private static final int GLOBAL_MAX_IN_FLIGHT = 10;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger globalInFlight = new AtomicInteger();
+
+    @Test
+    void acquire_ShouldShedLowPriorityEndpointFirst() {
+        EndpointLimiter low = limiter("low", 10, 0, Duration.ofSeconds(1), 0.5);
+        EndpointLimiter high = limiter("high", 10, 0, Duration.ofSeconds(1), 1.0);
+
+        List<EndpointLimiter.Permit> permits = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            permits.add(admitted(high));
+        }
+
+        assertFalse(low.acquire().block().admitted());
+        assertEquals(1.0, shed("low", "priority"));
+        for (int i = 0; i < 5; i++) {
+            permits.add(admitted(high));
+        }
+        assertFalse(high.acquire().block().admitted());
+        assertEquals(10, globalInFlight.get());
+
+        permits.forEach(EndpointLimiter.Permit::release);
+        assertEquals(0, globalInFlight.get());
+        assertTrue(admitted(low).admitted());
+    }
+
+    @Test
+    void drain_ShouldShedQueuedWaiters_OncePastTheirPriorityThreshold() {
+        EndpointLimiter low = limiter("low", 1, 4, Duration.ofSeconds(5), 0.5);
+        EndpointLimiter high = limiter("high", 10, 0, Duration.ofSeconds(5), 1.0);
+        EndpointLimiter.Permit holder = admitted(low);
+        List<EndpointLimiter.Permit> queued = new ArrayList<>();
+        Disposable waiting = low.acquire().subscribe(queued::add);
+        assertEquals(1.0, gauge("admission.queue-depth", "low"));
+
+        for (int i = 0; i < 5; i++) {
+            admitted(high);
+        }
+        holder.release();
+
+        assertEquals(1, queued.size());
+        assertFalse(queued.get(0).admitted());
+        assertEquals(1.0, shed("low", "priority"));
+        assertEquals(0.0, gauge("admission.queue-depth", "low"));
+        assertEquals(0.0, gauge("admission.in-flight", "low"));
+        assertEquals(5, globalInFlight.get());
+        waiting.dispose();
+    }
+
+    @Test
+    void drain_ShouldAdmitQueuedWaiter_WhenPermitIsReleased() {
+        EndpointLimiter limiter = limiter("endpoint", 1, 4, Duration.ofSeconds(5), 1.0);
+        EndpointLimiter.Permit holder = admitted(limiter);
+        List<EndpointLimiter.Permit> queued = new ArrayList<>();
+        limiter.acquire().subscribe(queued::add);
+        assertTrue(queued.isEmpty());
+
+        holder.release();
+        holder.release();
+
+        assertTrue(queued.get(0).admitted());
+        assertEquals(1.0, gauge("admission.in-flight", "endpoint"));
+        assertEquals(1, globalInFlight.get());
+        queued.get(0).release();
+        assertEquals(0, globalInFlight.get());
+    }
+
+    @Test
+    void acquire_ShouldShedAfterQueueTimeout() {
+        EndpointLimiter limiter = limiter("endpoint", 1, 4, Duration.ofMillis(50), 1.0);
+        admitted(limiter);
+
+        StepVerifier.create(limiter.acquire())
+                .expectNextMatches(permit -> !permit.admitted())
+                .expectComplete()
+                .verify(Duration.ofSeconds(2));
+
+        assertEquals(1.0, shed("endpoint", "queue-timeout"));
+        assertEquals(0.0, gauge("admission.queue-depth", "endpoint"));
+        assertEquals(1, globalInFlight.get());
+    }
+
+    @Test
+    void acquire_ShouldShed_WhenQueueIsFull() {
+        EndpointLimiter limiter = limiter("endpoint", 1, 1, Duration.ofSeconds(5), 1.0);
+        admitted(limiter);
+        Disposable waiting = limiter.acquire().subscribe();
+
+        assertFalse(limiter.acquire().block().admitted());
+        assertEquals(1.0, shed("endpoint", "queue-full"));
+        waiting.dispose();
+    }
+
+    @Test
+    void cancel_ShouldReturnPermits_WhetherQueuedOrAdmitted() {
+        EndpointLimiter limiter = limiter("endpoint", 1, 4, Duration.ofSeconds(5), 1.0);
+        Disposable admittedRequest = Mono.usingWhen(limiter.acquire(), permit -> Mono.never(),
+                permit -> Mono.fromRunnable(permit::release)).subscribe();
+        Disposable queuedRequest = Mono.usingWhen(limiter.acquire(), permit -> Mono.never(),
+                permit -> Mono.fromRunnable(permit::release)).subscribe();
+        assertEquals(1.0, gauge("admission.in-flight", "endpoint"));
+        assertEquals(1.0, gauge("admission.queue-depth", "endpoint"));
+
+        queuedRequest.dispose();
+        assertEquals(0.0, gauge("admission.queue-depth", "endpoint"));
+        admittedRequest.dispose();
+
+        assertEquals(0.0, gauge("admission.in-flight", "endpoint"));
+        assertEquals(0, globalInFlight.get());
+        assertTrue(admitted(limiter).admitted());
+    }
+
+    @Test
+    void permits_ShouldBalance_UnderConcurrentCancellation() {
+        EndpointLimiter low = limiter("low", 4, 8, Duration.ofMillis(20), 0.6);
+        EndpointLimiter high = limiter("high", 8, 8, Duration.ofMillis(20), 1.0);
+
+        Flux.range(0, 20_000)
+                .flatMap(i -> {
+                    EndpointLimiter limiter = i % 3 == 0 ? low : high;
+                    Mono<Void> request = Mono.usingWhen(limiter.acquire(),
+                            permit -> Mono.delay(Duration.ofNanos(ThreadLocalRandom.current().nextInt(200_000))).then(),
+                            permit -> Mono.fromRunnable(permit::release));
+                    // Roughly a third of the requests are cancelled at a random point: queued, being granted or running.
+                    return ThreadLocalRandom.current().nextInt(3) == 0
+                            ? request.timeout(Duration.ofNanos(ThreadLocalRandom.current().nextInt(300_000)), Mono.empty())
+                            : request;
+                }, 64)
+                .subscribeOn(Schedulers.parallel())
+                .blockLast(Duration.ofSeconds(60));
+
+        assertEquals(0, globalInFlight.get());
+        for (String endpoint : List.of("low", "high")) {
+            assertEquals(0.0, gauge("admission.in-flight", endpoint), endpoint);
+            assertEquals(0.0, gauge("admission.queue-depth", endpoint), endpoint);
+        }
+    }
+
+    private EndpointLimiter limiter(String name, int maxInFlight, int maxQueue, Duration queueTimeout, double globalShare) {
+        return new EndpointLimiter(name, maxInFlight, maxQueue, queueTimeout, globalShare, GLOBAL_MAX_IN_FLIGHT, globalInFlight, meterRegistry);
+    }
+
+    private static EndpointLimiter.Permit admitted(EndpointLimiter limiter) {
+        EndpointLimiter.Permit permit = limiter.acquire().block();
+        assertTrue(permit.admitted());
+        return permit;
+    }
+
+    private double gauge(String name, String endpoint) {
+        return meterRegistry.get(name).tag("endpoint", endpoint).gauge().value();
+    }
+
+    private double shed(String endpoint, String reason) {
+        return meterRegistry.counter("admission.shed", "endpoint", endpoint, "reason", reason).count();
+    }
+}
@@ -0,0 +1,85 @@
+package my.application.individuals_api.allocation;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+import java.util.TreeMap;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Checked-in per-endpoint baselines. In update mode ({@code -Dallocation.baseline.update=true}) measurements
+ * replace the recorded values instead of being checked against them.
+ */
+class AllocationBaselines {
+
+    private static final String HEADER = """
+            # Per-request allocation (bytes) and CPU time (nanoseconds) of each AuthController endpoint, measured by
+            # EndpointAllocationTest against the Keycloak stand-in. Values depend on the JDK and GC in use, so record them
+            # on the CI image and re-record deliberately after an intended change:
+            #
+            #   ./gradlew allocationTest -PupdateBaselines
+            #
+            # An endpoint without a recorded baseline fails the check.
+            """;
+
+    private final Path file;
+    private final boolean update;
+    private final Properties values = new Properties();
+
+    private AllocationBaselines(Path file, boolean update) {
+        this.file = file;
+        this.update = update;
+        if (Files.exists(file)) {
+            try (Reader reader = Files.newBufferedReader(file, UTF_8)) {
+                values.load(reader);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    static AllocationBaselines load() {
+        return new AllocationBaselines(
+                Path.of(System.getProperty("allocation.baseline.file", "src/test/resources/allocation-baselines.properties")),
+                Boolean.getBoolean("allocation.baseline.update"));
+    }
+
+    synchronized void check(String endpoint, String metric, long measured) {
+        String key = endpoint + "." + metric;
+        System.out.printf("%-16s %-10s %,12d per request (baseline: %s)%n", endpoint, metric, measured, values.getProperty(key, "none"));
+        if (update) {
+            values.setProperty(key, Long.toString(measured));
+            return;
+        }
+        String recorded = values.getProperty(key);
+        if (recorded == null) {
+            fail("No baseline recorded for " + key + ", run ./gradlew allocationTest -PupdateBaselines");
+        }
+        long baseline = Long.parseLong(recorded);
+        double tolerance = Double.parseDouble(values.getProperty("tolerance." + metric, "0.10"));
+        long limit = (long) (baseline * (1 + tolerance));
+        assertTrue(measured <= limit, () -> String.format(
+                "%s: %,d per request exceeds the baseline of %,d by more than %.0f%%", key, measured, baseline, tolerance * 100));
+    }
+
+    synchronized void storeIfUpdating() {
+        if (!update) {
+            return;
+        }
+        try (Writer writer = Files.newBufferedWriter(file, UTF_8)) {
+            writer.write(HEADER);
+            for (var entry : new TreeMap<>(values).entrySet()) {
+                writer.write(entry.getKey() + "=" + entry.getValue() + "\n");
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
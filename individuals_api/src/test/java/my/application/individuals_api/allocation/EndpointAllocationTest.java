@@ -0,0 +1,197 @@
+package my.application.individuals_api.allocation;
+
+import my.application.individuals_api.KeycloakStubServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.LoopResources;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.IntConsumer;
+
+/**
+ * Allocated bytes and CPU time per request of every AuthController endpoint, summed over the service's Reactor Netty
+ * event-loop threads and the Reactor schedulers its request handling hops to, checked against {@code allocation-baselines.properties}. Run with
+ * {@code ./gradlew allocationTest}.
+ */
+@Tag("allocation")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class EndpointAllocationTest {
+
+    private static final int WARMUP_REQUESTS = 2_000;
+    private static final int MEASURED_REQUESTS = 2_000;
+    // The server and its outbound WebClient run on Reactor Netty's shared loops; the test client gets its own.
+    // Introspection decodes tokens on the parallel scheduler, which also runs the admission queue timeouts, and
+    // blocking work goes to boundedElastic. The admin events poller that also uses them is disabled here.
+    private static final List<String> SERVER_THREAD_PREFIXES = List.of("reactor-http-", "parallel-", "boundedElastic-");
+    private static final LoopResources CLIENT_LOOP = LoopResources.create("allocation-client", 1, true);
+
+    private static final KeycloakStubServer KEYCLOAK = new KeycloakStubServer();
+    private static final AllocationBaselines BASELINES = AllocationBaselines.load();
+
+    private static final String LOGIN_BODY = """
+            {"email":"%s","password":"%s"}
+            """.formatted(KeycloakStubServer.USER_EMAIL, KeycloakStubServer.USER_PASSWORD);
+    private static final String REFRESH_BODY = """
+            {"refresh_token":"%s"}
+            """.formatted(KeycloakStubServer.REFRESH_TOKEN);
+    private static final String INTROSPECT_BODY = """
+            {"tokens":["%s"]}
+            """.formatted(String.join("\",\"", Collections.nCopies(10, KEYCLOAK.accessToken())));
+
+    private static final String INTROSPECT_TOKEN = KEYCLOAK.signAccessToken(UUID.randomUUID().toString(),
+            Instant.now().plusSeconds(24 * 3600), List.of("ROLE_introspect-tokens"));
+
+    @LocalServerPort
+    private int port;
+
+    private WebTestClient webTestClient;
+
+    @DynamicPropertySource
+    static void registerProperties(DynamicPropertyRegistry registry) throws IOException {
+        KEYCLOAK.registerProperties(registry);
+        String auditDirectory = Files.createTempDirectory("audit-allocation").toString();
+        registry.add("audit.enabled", () -> true);
+        registry.add("audit.directory", () -> auditDirectory);
+    }
+
+    @BeforeEach
+    void setUp() {
+        webTestClient = WebTestClient.bindToServer(new ReactorClientHttpConnector(HttpClient.create().runOn(CLIENT_LOOP)))
+                .baseUrl("http://localhost:" + port)
+                .build();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        KEYCLOAK.close();
+        CLIENT_LOOP.dispose();
+        BASELINES.storeIfUpdating();
+    }
+
+    @Test
+    @DisplayName("POST /v1/auth/registration")
+    void registration() {
+        measure("registration", i -> webTestClient.post().uri("/v1/auth/registration")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"email\":\"alloc-" + i + "@example.com\",\"password\":\"SecurePassword123\",\"confirm_password\":\"SecurePassword123\"}")
+                .exchange()
+                .expectStatus().isCreated());
+    }
+
+    @Test
+    @DisplayName("POST /v1/auth/login")
+    void login() {
+        measure("login", i -> webTestClient.post().uri("/v1/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(LOGIN_BODY)
+                .exchange()
+                .expectStatus().isOk());
+    }
+
+    @Test
+    @DisplayName("POST /v1/auth/refresh-token")
+    void refreshToken() {
+        measure("refresh-token", i -> webTestClient.post().uri("/v1/auth/refresh-token")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(REFRESH_BODY)
+                .exchange()
+                .expectStatus().isOk());
+    }
+
+    @Test
+    @DisplayName("GET /v1/auth/me")
+    void me() {
+        measure("me", i -> webTestClient.get().uri("/v1/auth/me")
+                .header("Authorization", "Bearer " + KEYCLOAK.accessToken())
+                .exchange()
+                .expectStatus().isOk());
+    }
+
+    @Test
+    @DisplayName("POST /v1/auth/introspect with 10 tokens")
+    void introspect() {
+        measure("introspect", i -> webTestClient.post().uri("/v1/auth/introspect")
+                .header("Authorization", "Bearer " + INTROSPECT_TOKEN)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(INTROSPECT_BODY)
+                .exchange()
+                .expectStatus().isOk());
+    }
+
+    @Test
+    @DisplayName("POST /v1/auth/logout")
+    void logout() {
+        // Every logout revokes its access token, so each request needs its own; signing happens up front.
+        String[] accessTokens = new String[WARMUP_REQUESTS + MEASURED_REQUESTS];
+        for (int i = 0; i < accessTokens.length; i++) {
+            accessTokens[i] = KEYCLOAK.signAccessToken(UUID.randomUUID().toString(), Instant.now().plusSeconds(3600));
+        }
+        measure("logout", i -> webTestClient.post().uri("/v1/auth/logout")
+                .header("Authorization", "Bearer " + accessTokens[i])
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(REFRESH_BODY)
+                .exchange()
+                .expectStatus().isNoContent());
+    }
+
+    private static void measure(String endpoint, IntConsumer request) {
+        for (int i = 0; i < WARMUP_REQUESTS; i++) {
+            request.accept(i);
+        }
+        long[] before = threadTotals();
+        for (int i = 0; i < MEASURED_REQUESTS; i++) {
+            request.accept(WARMUP_REQUESTS + i);
+        }
+        long[] after = threadTotals();
+
+        BASELINES.check(endpoint, "bytes", (after[0] - before[0]) / MEASURED_REQUESTS);
+        BASELINES.check(endpoint, "cpu-nanos", (after[1] - before[1]) / MEASURED_REQUESTS);
+    }
+
+    // Allocated bytes and CPU nanoseconds of the server's event-loop and scheduler threads. The test thread, the test
+    // client's loop and the stand-in's loop are left out, as are the revocation ticker and the audit writer, which
+    // drains events off the request path by design.
+    private static long[] threadTotals() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long[] ids = threads.getAllThreadIds();
+        ThreadInfo[] infos = threads.getThreadInfo(ids);
+        long[] allocated = threads.getThreadAllocatedBytes(ids);
+        long[] cpu = threads.getThreadCpuTime(ids);
+        long[] totals = new long[2];
+        for (int i = 0; i < ids.length; i++) {
+            if (infos[i] == null || !isServerThread(infos[i].getThreadName())) {
+                continue;
+            }
+            totals[0] += Math.max(0, allocated[i]);
+            totals[1] += Math.max(0, cpu[i]);
+        }
+        return totals;
+    }
+
+    private static boolean isServerThread(String name) {
+        for (String prefix : SERVER_THREAD_PREFIXES) {
+            if (name.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
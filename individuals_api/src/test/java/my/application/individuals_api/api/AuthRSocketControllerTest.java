@@ -0,0 +1,35 @@
+package my.application.individuals_api.api;
+
+import io.rsocket.exceptions.ApplicationErrorException;
+import my.application.individuals_api.admission.AdmissionControl;
+import my.application.individuals_api.exception.AuthException;
+import my.application.individuals_api.logging.StackTraceRateLimiter;
+import my.application.individuals_api.service.TokenService;
+import my.application.individuals_api.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import reactor.test.StepVerifier;
+
+import static org.mockito.Mockito.mock;
+
+class AuthRSocketControllerTest {
+
+    private final AuthRSocketController controller = new AuthRSocketController(mock(UserService.class),
+            mock(TokenService.class), mock(ReactiveJwtDecoder.class), mock(AdmissionControl.class), new StackTraceRateLimiter(10));
+
+    @Test
+    void handleUnexpected_ShouldAnswerWithTheGenericServerError() {
+        StepVerifier.create(controller.handleUnexpected(new IllegalStateException("Connection refused: keycloak.internal:8080")))
+                .expectErrorMatches(e -> e instanceof ApplicationErrorException
+                        && e.getMessage().equals("500 Unexpected server error"))
+                .verify();
+    }
+
+    @Test
+    void handleAuthException_ShouldAnswerWithStatusAndMessage() {
+        StepVerifier.create(controller.handleAuthException(new AuthException("User not found", HttpStatus.NOT_FOUND)))
+                .expectErrorMatches(e -> e instanceof ApplicationErrorException && e.getMessage().equals("404 User not found"))
+                .verify();
+    }
+}
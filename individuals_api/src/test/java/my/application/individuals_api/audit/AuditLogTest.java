@@ -0,0 +1,26 @@
+package my.application.individuals_api.audit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AuditLogTest {
+
+    @Test
+    void constructor_ShouldReject_WhenEnabledWithARelativeOrMissingDirectory() {
+        assertThrows(IllegalStateException.class, () -> auditLog(true, "audit"));
+        assertThrows(IllegalStateException.class, () -> auditLog(true, ""));
+    }
+
+    @Test
+    void constructor_ShouldIgnoreDirectory_WhenDisabled() {
+        assertDoesNotThrow(() -> auditLog(false, ""));
+    }
+
+    private static AuditLog auditLog(boolean enabled, String directory) {
+        return new AuditLog(new SimpleMeterRegistry(), enabled, directory, 16, 4, DataSize.ofKilobytes(64), 2);
+    }
+}
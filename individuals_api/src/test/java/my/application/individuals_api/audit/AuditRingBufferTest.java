@@ -0,0 +1,85 @@
+package my.application.individuals_api.audit;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AuditRingBufferTest {
+
+    @Test
+    void drain_ShouldReturnEventsInOrder_WhenSequenceWrapsAroundTheRing() {
+        AuditRingBuffer ringBuffer = new AuditRingBuffer(4);
+        List<String> drained = new ArrayList<>();
+        List<String> expected = new ArrayList<>();
+
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < 3; i++) {
+                String subject = "user-" + round + "-" + i;
+                assertTrue(ringBuffer.publish(round * 3L + i, AuditEventType.LOGIN, true, 200, subject));
+                expected.add(subject);
+            }
+            assertEquals(3, ringBuffer.drain(collectSubjects(drained), 16));
+        }
+
+        assertEquals(expected, drained);
+        assertEquals(0, ringBuffer.size());
+    }
+
+    @Test
+    void publish_ShouldDrop_WhenRingIsFull() {
+        AuditRingBuffer ringBuffer = new AuditRingBuffer(4);
+        for (int i = 0; i < ringBuffer.capacity(); i++) {
+            assertTrue(ringBuffer.publish(i, AuditEventType.LOGIN, true, 200, "user-" + i));
+        }
+
+        assertFalse(ringBuffer.publish(99, AuditEventType.LOGIN, true, 200, "dropped"));
+
+        assertEquals(1, ringBuffer.drain(collectSubjects(new ArrayList<>()), 1));
+        assertTrue(ringBuffer.publish(100, AuditEventType.LOGIN, true, 200, "accepted"));
+    }
+
+    @Test
+    void drain_ShouldResumeAtFailedEvent_WhenHandlerThrows() {
+        AuditRingBuffer ringBuffer = new AuditRingBuffer(8);
+        for (int i = 0; i < 5; i++) {
+            ringBuffer.publish(i, AuditEventType.LOGIN, true, 200, "user-" + i);
+        }
+        List<String> written = new ArrayList<>();
+        AuditRingBuffer.Handler failingOnThird = (timestamp, type, success, status, subjects, offset, length) -> {
+            if (timestamp == 2) {
+                throw new IllegalStateException("disk full");
+            }
+            written.add(new String(subjects, offset, length, StandardCharsets.UTF_8));
+        };
+
+        assertThrows(IllegalStateException.class, () -> ringBuffer.drain(failingOnThird, 16));
+        assertEquals(3, ringBuffer.size());
+        ringBuffer.drain(collectSubjects(written), 16);
+
+        assertEquals(List.of("user-0", "user-1", "user-2", "user-3", "user-4"), written);
+    }
+
+    @Test
+    void publish_ShouldTruncateSubjectAtCharacterBoundary_WhenItExceedsTheSlot() {
+        AuditRingBuffer ringBuffer = new AuditRingBuffer(2);
+        String subject = "я".repeat(AuditRingBuffer.SUBJECT_CAPACITY);
+        ringBuffer.publish(1, AuditEventType.REGISTRATION, false, 409, subject);
+        List<String> drained = new ArrayList<>();
+
+        ringBuffer.drain(collectSubjects(drained), 1);
+
+        assertEquals("я".repeat(AuditRingBuffer.SUBJECT_CAPACITY / 2), drained.getFirst());
+    }
+
+    private static AuditRingBuffer.Handler collectSubjects(List<String> target) {
+        return (timestamp, type, success, status, subjects, offset, length) ->
+                target.add(new String(subjects, offset, length, StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,71 @@
+package my.application.individuals_api.audit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static my.application.individuals_api.audit.AuditSegmentWriter.HEADER_SIZE;
+import static my.application.individuals_api.audit.AuditSegmentWriter.RECORD_SIZE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AuditSegmentWriterTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void scan_ShouldReadBackWrittenRecords() throws IOException {
+        List<AuditRecord> written = List.of(
+                new AuditRecord(Instant.ofEpochMilli(1_000), AuditEventType.REGISTRATION, true, 201, "new@example.com"),
+                new AuditRecord(Instant.ofEpochMilli(2_000), AuditEventType.LOGIN, false, 401, "пользователь@example.com"),
+                new AuditRecord(Instant.ofEpochMilli(3_000), AuditEventType.USER_INFO, true, 200, ""));
+        try (AuditSegmentWriter writer = new AuditSegmentWriter(directory, 1024 * 1024, 4)) {
+            written.forEach(record -> append(writer, record));
+        }
+
+        assertEquals(written, readAll());
+    }
+
+    @Test
+    void append_ShouldRotateAndKeepNewestSegments_WhenSegmentIsFull() throws IOException {
+        List<AuditRecord> written = new ArrayList<>();
+        for (int i = 1; i <= 7; i++) {
+            written.add(new AuditRecord(Instant.ofEpochMilli(i), AuditEventType.LOGIN, true, 200, "user-" + i));
+        }
+        try (AuditSegmentWriter writer = new AuditSegmentWriter(directory, HEADER_SIZE + 2L * RECORD_SIZE, 2)) {
+            written.forEach(record -> append(writer, record));
+        }
+
+        assertEquals(2, AuditSegmentWriter.listSegments(directory).size());
+        assertEquals(written.subList(4, 7), readAll());
+    }
+
+    @Test
+    void scan_ShouldReject_WhenFileIsNotAnAuditSegment() throws IOException {
+        Path file = Files.write(directory.resolve("audit-0000000000000-000000.seg"), new byte[HEADER_SIZE]);
+
+        assertThrows(IOException.class, () -> AuditSegmentReader.scan(file, record -> { }));
+    }
+
+    private List<AuditRecord> readAll() throws IOException {
+        List<AuditRecord> records = new ArrayList<>();
+        for (Path segment : AuditSegmentWriter.listSegments(directory)) {
+            AuditSegmentReader.scan(segment, records::add);
+        }
+        return records;
+    }
+
+    private static void append(AuditSegmentWriter writer, AuditRecord record) {
+        byte[] subject = record.subject().getBytes(StandardCharsets.UTF_8);
+        writer.append(record.timestamp().toEpochMilli(), record.type().ordinal(), record.success(), record.status(),
+                subject, 0, subject.length);
+    }
+}
@@ -0,0 +1,169 @@
+package my.application.individuals_api.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import my.application.individuals_api.integration.KeycloakIntegration;
+import my.application.individuals_api.model.KeycloakAdminEventRepresentation;
+import my.application.individuals_api.model.KeycloakUserRepresentation;
+import my.application.individuals_api.service.RegisteredEmailIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class KeycloakAdminEventsPollerTest {
+
+    // 2023-11-14T22:13:20Z
+    private static final long CURSOR = 1_700_000_000_000L;
+    private static final LocalDate CURSOR_DATE = LocalDate.of(2023, 11, 14);
+
+    private final KeycloakIntegration keycloakIntegration = mock(KeycloakIntegration.class);
+    private final KeycloakUserCache userCache = mock(KeycloakUserCache.class);
+    private final RegisteredEmailIndex registeredEmailIndex = mock(RegisteredEmailIndex.class);
+
+    @TempDir
+    Path directory;
+
+    private Path cursorFile;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        cursorFile = Files.writeString(directory.resolve("admin-events.cursor"), Long.toString(CURSOR));
+        when(userCache.getUser(anyString())).thenReturn(Mono.empty());
+    }
+
+    @Test
+    void poll_ShouldPersistTheNewestEventTime_AndResumeFromItAfterARestart() throws IOException {
+        when(keycloakIntegration.getAdminEvents(any(), anyInt(), anyInt())).thenReturn(Mono.just(List.of(
+                event(CURSOR + 10, "UPDATE", "USER", "users/u1"),
+                event(CURSOR + 5, "UPDATE", "USER", "users/u2"))));
+
+        poller(100).poll().block();
+
+        assertEquals(Long.toString(CURSOR + 10), Files.readString(cursorFile));
+        verify(keycloakIntegration).getAdminEvents(CURSOR_DATE, 0, 100);
+
+        when(keycloakIntegration.getAdminEvents(any(), anyInt(), anyInt())).thenReturn(Mono.just(List.of(
+                event(CURSOR + 30, "UPDATE", "USER", "users/u3"),
+                event(CURSOR + 5, "UPDATE", "USER", "users/u2"))));
+
+        poller(100).poll().block();
+
+        verify(userCache).invalidateUser("u3");
+        verify(userCache, times(1)).invalidateUser("u2");
+        assertEquals(Long.toString(CURSOR + 30), Files.readString(cursorFile));
+    }
+
+    @Test
+    void poll_ShouldApplyEventStoredInTheCursorMillisecond_OnlyOnce() {
+        KeycloakAdminEventsPoller poller = poller(100);
+        KeycloakAdminEventRepresentation first = event(CURSOR + 10, "UPDATE", "USER", "users/u1");
+        when(keycloakIntegration.getAdminEvents(any(), anyInt(), anyInt())).thenReturn(Mono.just(List.of(first)));
+        poller.poll().block();
+
+        // A second event was stored in the same millisecond after the first poll read that one.
+        when(keycloakIntegration.getAdminEvents(any(), anyInt(), anyInt())).thenReturn(Mono.just(List.of(
+                event(CURSOR + 10, "UPDATE", "USER", "users/u2"), first)));
+        poller.poll().block();
+        poller.poll().block();
+
+        verify(userCache, times(1)).invalidateUser("u1");
+        verify(userCache, times(1)).invalidateUser("u2");
+    }
+
+    @Test
+    void poll_ShouldStopPaging_AtThePageThatReachesPastTheCursor() {
+        when(keycloakIntegration.getAdminEvents(CURSOR_DATE, 0, 2)).thenReturn(Mono.just(List.of(
+                event(CURSOR + 40, "UPDATE", "USER", "users/u1"),
+                event(CURSOR + 30, "UPDATE", "USER", "users/u2"))));
+        when(keycloakIntegration.getAdminEvents(CURSOR_DATE, 2, 2)).thenReturn(Mono.just(List.of(
+                event(CURSOR + 20, "UPDATE", "USER", "users/u3"),
+                event(CURSOR - 5, "UPDATE", "USER", "users/old"))));
+
+        poller(2).poll().block();
+
+        verify(keycloakIntegration, never()).getAdminEvents(CURSOR_DATE, 4, 2);
+        verify(userCache).invalidateUser("u1");
+        verify(userCache).invalidateUser("u2");
+        verify(userCache).invalidateUser("u3");
+        verify(userCache, never()).invalidateUser("old");
+    }
+
+    @Test
+    void poll_ShouldStopPaging_AtAShortPage() {
+        when(keycloakIntegration.getAdminEvents(CURSOR_DATE, 0, 2)).thenReturn(Mono.just(List.of(
+                event(CURSOR + 40, "UPDATE", "USER", "users/u1"),
+                event(CURSOR + 30, "UPDATE", "USER", "users/u2"))));
+        when(keycloakIntegration.getAdminEvents(CURSOR_DATE, 2, 2)).thenReturn(Mono.just(List.of(
+                event(CURSOR + 20, "UPDATE", "USER", "users/u3"))));
+
+        poller(2).poll().block();
+
+        verify(keycloakIntegration, never()).getAdminEvents(CURSOR_DATE, 4, 2);
+        verify(userCache).invalidateUser("u3");
+    }
+
+    @Test
+    void poll_ShouldInvalidateExactlyWhatEachEventAffects() {
+        when(userCache.getUser("u2")).thenReturn(Mono.just(new KeycloakUserRepresentation("u2", "renamed@example.com", 1L)));
+        when(userCache.getUser("u3")).thenReturn(Mono.just(new KeycloakUserRepresentation("u3", "created@example.com", 1L)));
+        when(keycloakIntegration.getAdminEvents(any(), anyInt(), anyInt())).thenReturn(Mono.just(List.of(
+                event(CURSOR + 1, "DELETE", "USER", "users/u1"),
+                event(CURSOR + 2, "UPDATE", "USER", "users/u2"),
+                event(CURSOR + 3, "CREATE", "USER", "users/u3"),
+                event(CURSOR + 4, "CREATE", "REALM_ROLE_MAPPING", "users/u4/role-mappings/realm"),
+                event(CURSOR + 5, "UPDATE", "REALM_ROLE", "roles/manager"),
+                event(CURSOR + 6, "UPDATE", "REALM", ""),
+                event(CURSOR + 7, "UPDATE", "CLIENT", "clients/c1"))));
+
+        poller(100).poll().block();
+
+        verify(userCache).invalidateUser("u1");
+        verify(registeredEmailIndex).removeUser("u1");
+        verify(userCache).invalidateUser("u2");
+        verify(registeredEmailIndex).removeUser("u2");
+        verify(registeredEmailIndex).add("u2", "renamed@example.com");
+        verify(userCache).invalidateUser("u3");
+        verify(registeredEmailIndex).add("u3", "created@example.com");
+        verify(userCache).invalidateRoles("u4");
+        verify(userCache, never()).invalidateUser("u4");
+        verify(userCache).invalidateAllRoles();
+        verify(userCache).invalidateAll();
+    }
+
+    @Test
+    void poll_ShouldNotReadTheUser_WhenItsCreateEventIsForAnAlreadyIndexedUser() {
+        when(registeredEmailIndex.containsUser("u1")).thenReturn(true);
+        when(keycloakIntegration.getAdminEvents(any(), anyInt(), anyInt())).thenReturn(Mono.just(List.of(
+                event(CURSOR + 1, "CREATE", "USER", "users/u1"))));
+
+        poller(100).poll().block();
+
+        verify(userCache, never()).getUser("u1");
+    }
+
+    private KeycloakAdminEventsPoller poller(int pageSize) {
+        return new KeycloakAdminEventsPoller(keycloakIntegration, userCache, registeredEmailIndex, new SimpleMeterRegistry(),
+                true, Duration.ofSeconds(5), pageSize, cursorFile.toString());
+    }
+
+    private static KeycloakAdminEventRepresentation event(long time, String operationType, String resourceType, String resourcePath) {
+        return new KeycloakAdminEventRepresentation(time, operationType, resourceType, resourcePath);
+    }
+}
@@ -0,0 +1,94 @@
+package my.application.individuals_api.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import my.application.individuals_api.integration.KeycloakIntegration;
+import my.application.individuals_api.model.KeycloakUserRepresentation;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class KeycloakUserCacheTest {
+
+    private static final KeycloakUserRepresentation USER = new KeycloakUserRepresentation("u1", "user1@example.com", 1L);
+
+    private final KeycloakIntegration keycloakIntegration = mock(KeycloakIntegration.class);
+    private final KeycloakUserCache cache = new KeycloakUserCache(keycloakIntegration, new SimpleMeterRegistry(),
+            Duration.ofHours(1), Duration.ofSeconds(30), 1_000);
+
+    @Test
+    void getUser_ShouldShareOneKeycloakCall_BetweenConcurrentMisses() {
+        Sinks.One<KeycloakUserRepresentation> response = Sinks.one();
+        when(keycloakIntegration.getUserById("u1")).thenReturn(response.asMono());
+        AtomicReference<KeycloakUserRepresentation> first = new AtomicReference<>();
+        AtomicReference<KeycloakUserRepresentation> second = new AtomicReference<>();
+
+        cache.getUser("u1").subscribe(first::set);
+        cache.getUser("u1").subscribe(second::set);
+        response.tryEmitValue(USER);
+
+        assertEquals(USER, first.get());
+        assertEquals(USER, second.get());
+        assertEquals(USER, cache.getUser("u1").block());
+        verify(keycloakIntegration, times(1)).getUserById("u1");
+    }
+
+    @Test
+    void getUser_ShouldKeepTheSharedCall_WhenOneWaiterCancels() {
+        Sinks.One<KeycloakUserRepresentation> response = Sinks.one();
+        when(keycloakIntegration.getUserById("u1")).thenReturn(response.asMono());
+        AtomicReference<KeycloakUserRepresentation> remaining = new AtomicReference<>();
+
+        Disposable cancelled = cache.getUser("u1").subscribe();
+        cache.getUser("u1").subscribe(remaining::set);
+        cancelled.dispose();
+        response.tryEmitValue(USER);
+
+        assertEquals(USER, remaining.get());
+        verify(keycloakIntegration, times(1)).getUserById("u1");
+    }
+
+    @Test
+    void getUser_ShouldNotCacheFailures() {
+        when(keycloakIntegration.getUserById("u1"))
+                .thenReturn(Mono.error(new IllegalStateException("down")))
+                .thenReturn(Mono.just(USER));
+
+        cache.getUser("u1").onErrorResume(e -> Mono.empty()).block();
+
+        assertEquals(USER, cache.getUser("u1").block());
+        verify(keycloakIntegration, times(2)).getUserById("u1");
+    }
+
+    @Test
+    void invalidateUser_ShouldMakeTheNextReadGoToKeycloak() {
+        when(keycloakIntegration.getUserById("u1")).thenReturn(Mono.just(USER));
+        cache.getUser("u1").block();
+
+        cache.invalidateUser("u1");
+        cache.getUser("u1").block();
+
+        verify(keycloakIntegration, times(2)).getUserById("u1");
+    }
+
+    @Test
+    void setReceivingEvents_ShouldDropEverything_WhenEventsStopArriving() {
+        when(keycloakIntegration.getUserById("u1")).thenReturn(Mono.just(USER));
+        cache.setReceivingEvents(true);
+        cache.getUser("u1").block();
+
+        cache.setReceivingEvents(false);
+        cache.getUser("u1").block();
+
+        verify(keycloakIntegration, times(2)).getUserById("u1");
+    }
+}
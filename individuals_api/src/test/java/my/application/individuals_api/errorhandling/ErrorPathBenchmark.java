@@ -0,0 +1,167 @@
+package my.application.individuals_api.errorhandling;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import my.application.individuals_api.BenchmarkResults;
+import my.application.individuals_api.exception.AuthException;
+import my.application.individuals_api.logging.StackTraceRateLimiter;
+import my.application.individuals_api.response.ErrorResponse;
+import my.application.individuals_api.security.config.CustomBearerTokenServerAuthenticationEntryPoint;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static my.application.individuals_api.utils.Messages.INVALID_OR_EXPIRED_ACCESS_TOKEN;
+import static my.application.individuals_api.utils.Messages.USER_ALREADY_EXISTS;
+
+/**
+ * Throughput of the 401 and 409 error paths, comparing the previous implementation (per-request maps,
+ * ObjectMapper serialization and exceptions with stack traces) with the pre-serialized payloads.
+ * Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+class ErrorPathBenchmark {
+
+    private static final long WARMUP_NANOS = TimeUnit.SECONDS.toNanos(3);
+    private static final long MEASURE_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    @Test
+    @DisplayName("401 entry point: pre-serialized payload vs ObjectMapper per request")
+    void unauthorizedEntryPoint() {
+        CustomBearerTokenServerAuthenticationEntryPoint entryPoint = new CustomBearerTokenServerAuthenticationEntryPoint();
+        LegacyEntryPoint legacyEntryPoint = new LegacyEntryPoint();
+        BadCredentialsException exception = new BadCredentialsException("invalid token");
+
+        double before = opsPerSecond(() -> legacyEntryPoint.commence(exchange(), exception).block());
+        double after = opsPerSecond(() -> entryPoint.commence(exchange(), exception).block());
+
+        report("401 entry point", before, after);
+    }
+
+    @Test
+    @DisplayName("409 through GlobalErrorHandler: stackless exception and cached response vs previous handler")
+    void conflictThroughControllerAdvice() {
+        WebTestClient legacyClient = WebTestClient.bindToController(new LegacyConflictController())
+                .controllerAdvice(new LegacyErrorHandler())
+                .build();
+        WebTestClient client = WebTestClient.bindToController(new ConflictController())
+                .controllerAdvice(new GlobalErrorHandler(new StackTraceRateLimiter(10)))
+                .build();
+
+        double before = opsPerSecond(() -> legacyClient.get().uri("/conflict").exchange().expectStatus().isEqualTo(HttpStatus.CONFLICT));
+        double after = opsPerSecond(() -> client.get().uri("/conflict").exchange().expectStatus().isEqualTo(HttpStatus.CONFLICT));
+
+        report("409 controller advice", before, after);
+    }
+
+    private static ServerWebExchange exchange() {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/v1/auth/me"));
+    }
+
+    private static double opsPerSecond(Runnable operation) {
+        run(operation, WARMUP_NANOS);
+        return run(operation, MEASURE_NANOS) * 1e9 / MEASURE_NANOS;
+    }
+
+    private static long run(Runnable operation, long durationNanos) {
+        long deadline = System.nanoTime() + durationNanos;
+        long operations = 0;
+        while (System.nanoTime() < deadline) {
+            for (int i = 0; i < 100; i++) {
+                operation.run();
+            }
+            operations += 100;
+        }
+        return operations;
+    }
+
+    private static void report(String name, double before, double after) {
+        BenchmarkResults.record("ErrorPathBenchmark", name,
+                "before %,.0f ops/s, after %,.0f ops/s (x%.2f)".formatted(before, after, after / before));
+    }
+
+    static class LegacyEntryPoint {
+
+        private final ObjectMapper objectMapper = new ObjectMapper();
+
+        Mono<Void> commence(ServerWebExchange exchange, Exception ex) {
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.UNAUTHORIZED);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+
+            Map<String, Object> responseBody = new LinkedHashMap<>();
+            responseBody.put("status", HttpStatus.UNAUTHORIZED.value());
+            responseBody.put("error", INVALID_OR_EXPIRED_ACCESS_TOKEN);
+
+            try {
+                byte[] bytes = objectMapper.writeValueAsBytes(responseBody);
+                DataBuffer buffer = response.bufferFactory().wrap(bytes);
+                return response.writeWith(Mono.just(buffer));
+            } catch (Exception e) {
+                return Mono.error(e);
+            }
+        }
+    }
+
+    static class LegacyAuthException extends RuntimeException {
+
+        private final HttpStatus status;
+
+        LegacyAuthException(String message, HttpStatus status) {
+            super(message);
+            this.status = status;
+        }
+    }
+
+    @RestController
+    static class LegacyConflictController {
+
+        @GetMapping("/conflict")
+        Mono<Void> conflict() {
+            return Mono.error(new LegacyAuthException(USER_ALREADY_EXISTS, HttpStatus.CONFLICT));
+        }
+    }
+
+    @RestControllerAdvice
+    static class LegacyErrorHandler {
+
+        private static final Logger log = LoggerFactory.getLogger(LegacyErrorHandler.class);
+
+        @ExceptionHandler
+        Mono<ResponseEntity<ErrorResponse>> handle(LegacyAuthException ex) {
+            log.error("AuthException occurred: {} - Status: {}", ex.getMessage(), ex.status);
+            return Mono.just(ResponseEntity
+                    .status(ex.status)
+                    .body(new ErrorResponse(ex.getMessage(), ex.status.value())));
+        }
+    }
+
+    @RestController
+    static class ConflictController {
+
+        @GetMapping("/conflict")
+        Mono<Void> conflict() {
+            return Mono.error(new AuthException(USER_ALREADY_EXISTS, HttpStatus.CONFLICT));
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package my.application.individuals_api.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Mono;
+
+import java.net.URLEncoder;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class KeycloakRequestEncoderTest {
+
+    private static final String CLIENT_ID = "my-app-client";
+    private static final String CLIENT_SECRET = "s3cr3t&=+ value";
+    private static final String CLIENT_CREDENTIALS = "&client_id=" + URLEncoder.encode(CLIENT_ID, UTF_8)
+            + "&client_secret=" + URLEncoder.encode(CLIENT_SECRET, UTF_8);
+
+    private final KeycloakRequestEncoder encoder = new KeycloakRequestEncoder(CLIENT_ID, CLIENT_SECRET, "admin", "admin-password");
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    static Stream<String> wellFormedValues() {
+        return Stream.of(
+                "",
+                "user1@example.com",
+                "plain-text_with.dots*",
+                "reserved :/?#[]@!$&'()+,;=%~",
+                "space and\ttab",
+                "quotes \" and \\ backslashes /",
+                "control \u0000\u0001\u0008\u000b\u000c\n\r\u001f\u007f",
+                "ünïcödé Ωmega",
+                "日本語のパスワード",
+                "emoji 😀 and 👍",
+                "  ￿");
+    }
+
+    static Stream<String> formValues() {
+        return Stream.concat(wellFormedValues(), Stream.of(
+                "lone high \uD83D end",
+                "lone low \uDE00 end",
+                "\uD83D",
+                "reversed \uDE00\uD83D pair"));
+    }
+
+    @ParameterizedTest
+    @MethodSource("formValues")
+    void refreshTokenGrant_ShouldMatchUrlEncoder(String value) {
+        String expected = "grant_type=refresh_token&refresh_token=" + URLEncoder.encode(value, UTF_8) + CLIENT_CREDENTIALS;
+
+        assertEquals(expected, read(encoder.refreshTokenGrant(value)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("formValues")
+    void passwordGrant_ShouldMatchUrlEncoder(String value) {
+        String expected = "grant_type=password&username=" + URLEncoder.encode(value, UTF_8)
+                + "&password=" + URLEncoder.encode(value + "!", UTF_8) + CLIENT_CREDENTIALS;
+
+        assertEquals(expected, read(encoder.passwordGrant(value, value + "!")));
+    }
+
+    @ParameterizedTest
+    @MethodSource("formValues")
+    void logoutBody_ShouldMatchUrlEncoder(String value) {
+        String expected = "refresh_token=" + URLEncoder.encode(value, UTF_8) + CLIENT_CREDENTIALS;
+
+        assertEquals(expected, read(encoder.logoutBody(value)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("wellFormedValues")
+    void userCreateBody_ShouldMatchJackson(String value) throws Exception {
+        Map<String, Object> credential = new LinkedHashMap<>();
+        credential.put("type", "password");
+        credential.put("value", value + "\"pw");
+        credential.put("temporary", false);
+        Map<String, Object> user = new LinkedHashMap<>();
+        user.put("username", value);
+        user.put("email", value);
+        user.put("enabled", true);
+        user.put("credentials", List.of(credential));
+
+        assertEquals(objectMapper.writeValueAsString(user), read(encoder.userCreateBody(value, value + "\"pw")));
+    }
+
+    // Also checks that the buffer was sized exactly, i.e. never had to grow while being written.
+    private static String read(Mono<DataBuffer> body) {
+        DataBuffer buffer = body.block();
+        try {
+            assertEquals(buffer.capacity(), buffer.readableByteCount(), "buffer capacity");
+            return buffer.toString(UTF_8);
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+}
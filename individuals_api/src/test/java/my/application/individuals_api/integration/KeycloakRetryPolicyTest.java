@@ -0,0 +1,142 @@
+package my.application.individuals_api.integration;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class KeycloakRetryPolicyTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void withRetries_ShouldStopRetrying_WhenBudgetIsExhausted() {
+        KeycloakRetryPolicy policy = policy(3, 0.1, 2);
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertFails(policy.withRetries("op", failing(attempts, serverError())));
+        // Two tokens: two retries, then the third is refused.
+        assertEquals(3, attempts.get());
+
+        attempts.set(0);
+        assertFails(policy.withRetries("op", failing(attempts, serverError())));
+        assertEquals(1, attempts.get());
+        assertEquals(2.0, meterRegistry.counter("keycloak.retry.budget.exhausted", "operation", "op").count());
+        assertEquals(0.0, tokens());
+    }
+
+    @Test
+    void withRetries_ShouldRefillBudget_FromSuccessfulCalls() {
+        KeycloakRetryPolicy policy = policy(3, 0.1, 1);
+        AtomicInteger attempts = new AtomicInteger();
+        assertFails(policy.withRetries("op", failing(attempts, serverError())));
+        assertEquals(0.0, tokens());
+
+        for (int i = 0; i < 10; i++) {
+            StepVerifier.create(policy.withRetries("op", Mono.just("ok"))).expectNext("ok").verifyComplete();
+        }
+        assertEquals(1.0, tokens(), 1e-9);
+
+        attempts.set(0);
+        assertFails(policy.withRetries("op", failing(attempts, serverError())));
+        assertEquals(2, attempts.get());
+    }
+
+    @Test
+    void withRetries_ShouldNotRefillBeyondCapacity() {
+        KeycloakRetryPolicy policy = policy(3, 0.5, 2);
+        for (int i = 0; i < 100; i++) {
+            policy.withRetries("op", Mono.just("ok")).block();
+        }
+        assertEquals(2.0, tokens());
+    }
+
+    @Test
+    void withRetries_ShouldStopAtMaxRetries_AndNotRetryClientErrors() {
+        KeycloakRetryPolicy policy = policy(2, 0.1, 100);
+        AtomicInteger attempts = new AtomicInteger();
+        assertFails(policy.withRetries("op", failing(attempts, serverError())));
+        assertEquals(3, attempts.get());
+
+        attempts.set(0);
+        assertFails(policy.withRetries("op", failing(attempts,
+                WebClientResponseException.create(400, "Bad Request", HttpHeaders.EMPTY, new byte[0], UTF_8))));
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    void withConnectRetries_ShouldOnlyRetryRequestsThatWereNeverSent() {
+        KeycloakRetryPolicy policy = policy(3, 0.1, 100);
+        AtomicInteger attempts = new AtomicInteger();
+        assertFails(policy.withConnectRetries("createUser", failing(attempts, serverError())));
+        assertEquals(1, attempts.get());
+
+        attempts.set(0);
+        assertFails(policy.withConnectRetries("createUser", failing(attempts, requestFailure(new IOException("Connection reset")))));
+        assertEquals(1, attempts.get());
+
+        attempts.set(0);
+        assertFails(policy.withConnectRetries("createUser", failing(attempts, requestFailure(new ConnectException("Connection refused")))));
+        assertEquals(4, attempts.get());
+    }
+
+    @Test
+    void backoff_ShouldUseFullJitterBelowTheCappedExponentialCeiling() {
+        KeycloakRetryPolicy policy = new KeycloakRetryPolicy(3, Duration.ofMillis(100), Duration.ofMillis(1000), 0.1, 10, meterRegistry);
+        long[] ceilings = {100, 200, 400, 800, 1000, 1000};
+        for (int retry = 0; retry < ceilings.length; retry++) {
+            long min = Long.MAX_VALUE;
+            long max = 0;
+            for (int i = 0; i < 10_000; i++) {
+                long millis = policy.backoff(retry).toMillis();
+                min = Math.min(min, millis);
+                max = Math.max(max, millis);
+            }
+            assertTrue(min >= 0 && max <= ceilings[retry], "retry " + retry + " outside [0, " + ceilings[retry] + "]");
+            // Spread over the whole range rather than clustered at the ceiling.
+            assertTrue(min < ceilings[retry] / 10 && max > ceilings[retry] * 9 / 10, "retry " + retry + " not jittered");
+        }
+        assertTrue(policy.backoff(64).toMillis() <= 1000);
+    }
+
+    private KeycloakRetryPolicy policy(int maxRetries, double ratio, int capacity) {
+        return new KeycloakRetryPolicy(maxRetries, Duration.ZERO, Duration.ZERO, ratio, capacity, meterRegistry);
+    }
+
+    private double tokens() {
+        return meterRegistry.get("keycloak.retry.budget.tokens").gauge().value();
+    }
+
+    private static Mono<String> failing(AtomicInteger attempts, Throwable failure) {
+        return Mono.defer(() -> {
+            attempts.incrementAndGet();
+            return Mono.error(failure);
+        });
+    }
+
+    private static WebClientResponseException serverError() {
+        return WebClientResponseException.create(503, "Service Unavailable", HttpHeaders.EMPTY, new byte[0], UTF_8);
+    }
+
+    private static WebClientRequestException requestFailure(Throwable cause) {
+        return new WebClientRequestException(cause, HttpMethod.POST, URI.create("http://keycloak/admin/realms/test/users"), HttpHeaders.EMPTY);
+    }
+
+    private static void assertFails(Mono<String> call) {
+        StepVerifier.create(call).expectError().verify(Duration.ofSeconds(5));
+    }
+}
@@ -0,0 +1,130 @@
+package my.application.individuals_api.jfr;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import my.application.individuals_api.KeycloakStubServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class JfrEventsTest {
+
+    private static final String AUTH_ENDPOINT = "my.application.individuals_api.AuthEndpoint";
+    private static final String JWT_CONVERSION = "my.application.individuals_api.JwtConversion";
+    private static final String ADMIN_TOKEN_REFRESH = "my.application.individuals_api.AdminTokenRefresh";
+    private static final String KEYCLOAK_CALL = "my.application.individuals_api.KeycloakCall";
+    private static final Duration EVENT_TIMEOUT = Duration.ofSeconds(10);
+
+    private static final KeycloakStubServer KEYCLOAK = new KeycloakStubServer();
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    private final Queue<RecordedEvent> events = new ConcurrentLinkedQueue<>();
+    private RecordingStream recording;
+
+    @DynamicPropertySource
+    static void registerProperties(DynamicPropertyRegistry registry) {
+        KEYCLOAK.registerProperties(registry);
+        // Its bootstrap would fetch the admin token at startup, before any request could be correlated with it.
+        registry.add("registration.email-index.enabled", () -> false);
+    }
+
+    @BeforeEach
+    void startRecording() {
+        recording = new RecordingStream();
+        for (String event : List.of(AUTH_ENDPOINT, JWT_CONVERSION, ADMIN_TOKEN_REFRESH, KEYCLOAK_CALL)) {
+            recording.enable(event).withoutThreshold();
+            recording.onEvent(event, events::add);
+        }
+        recording.startAsync();
+    }
+
+    @AfterEach
+    void stopRecording() {
+        recording.close();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        KEYCLOAK.close();
+    }
+
+    @Test
+    void me_ShouldRecordEventsCorrelatedByRequestId() {
+        webTestClient.get().uri("/v1/auth/me")
+                .header("Authorization", "Bearer " + KEYCLOAK.accessToken())
+                .exchange()
+                .expectStatus().isOk();
+
+        RecordedEvent endpoint = awaitEvent(AUTH_ENDPOINT, event -> "/v1/auth/me".equals(event.getString("path")));
+        String requestId = endpoint.getString("requestId");
+        assertNotNull(requestId);
+        assertEquals("GET", endpoint.getString("method"));
+        assertEquals(200, endpoint.getInt("status"));
+
+        RecordedEvent conversion = awaitEvent(JWT_CONVERSION, event -> requestId.equals(event.getString("requestId")));
+        assertEquals("SUCCESS", conversion.getString("outcome"));
+        assertEquals(KeycloakStubServer.USER_ID, conversion.getString("subject"));
+        assertTrue(conversion.getInt("authorities") > 0);
+
+        // The first admin API call of the context finds no cached admin token.
+        RecordedEvent refresh = awaitEvent(ADMIN_TOKEN_REFRESH, event -> requestId.equals(event.getString("requestId")));
+        assertTrue(refresh.getBoolean("success"));
+
+        RecordedEvent getUser = awaitEvent(KEYCLOAK_CALL, event -> requestId.equals(event.getString("requestId"))
+                && "getUserById".equals(event.getString("operation")));
+        assertEquals(200, getUser.getInt("status"));
+        assertTrue(getUser.getLong("responseBytes") > 0);
+    }
+
+    @Test
+    void me_ShouldRecordEndpointEventWithoutConversion_WhenTokenIsMissing() {
+        webTestClient.get().uri("/v1/auth/me")
+                .exchange()
+                .expectStatus().isUnauthorized();
+
+        RecordedEvent endpoint = awaitEvent(AUTH_ENDPOINT, event -> event.getInt("status") == 401);
+        String requestId = endpoint.getString("requestId");
+        assertFalse(events.stream().anyMatch(event -> event.getEventType().getName().equals(JWT_CONVERSION)
+                && requestId.equals(event.getString("requestId"))));
+    }
+
+    // Events reach the stream asynchronously, about once a second.
+    private RecordedEvent awaitEvent(String name, Predicate<RecordedEvent> matching) {
+        long deadline = System.nanoTime() + EVENT_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            for (RecordedEvent event : events) {
+                if (event.getEventType().getName().equals(name) && matching.test(event)) {
+                    return event;
+                }
+            }
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return fail("No " + name + " event recorded within " + EVENT_TIMEOUT);
+    }
+}
@@ -0,0 +1,46 @@
+package my.application.individuals_api.logging;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class LogMaskingTest {
+
+    @Test
+    void email_ShouldKeepFirstCharacterAndDomain() {
+        assertEquals("u***@example.com", LogMasking.email("user1@example.com"));
+        assertEquals("***", LogMasking.email("not-an-email"));
+        assertEquals("***", LogMasking.email("@example.com"));
+        assertNull(LogMasking.email(null));
+    }
+
+    @Test
+    void emails_ShouldMaskEveryAddressInText() {
+        assertEquals("Registration failed for u***@example.com (invited by a***@mail.example.org)",
+                LogMasking.emails("Registration failed for user1@example.com (invited by admin.team+x@mail.example.org)"));
+    }
+
+    @Test
+    void emails_ShouldMaskAddressesInsideExceptionMessagesAndStackTraces() {
+        String stackTrace = """
+                my.application.individuals_api.exception.AuthException: User with email "john.doe@example.com" already exists
+                \tat my.application.individuals_api.service.UserService.registerUser(UserService.java:62)""";
+
+        assertEquals("""
+                my.application.individuals_api.exception.AuthException: User with email "j***@example.com" already exists
+                \tat my.application.individuals_api.service.UserService.registerUser(UserService.java:62)""",
+                LogMasking.emails(stackTrace));
+    }
+
+    @Test
+    void emails_ShouldReturnSameText_WhenNothingLooksLikeAnEmail() {
+        String withoutAt = "Entering loginUser method";
+        String withAt = "Spring @Value injection, host@10";
+
+        assertSame(withoutAt, LogMasking.emails(withoutAt));
+        assertSame(withAt, LogMasking.emails(withAt));
+        assertNull(LogMasking.emails(null));
+    }
+}
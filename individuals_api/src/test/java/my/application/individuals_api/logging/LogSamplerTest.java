@@ -0,0 +1,48 @@
+package my.application.individuals_api.logging;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LogSamplerTest {
+
+    private final LogSampler sampler = new LogSampler(new MockEnvironment()
+            .withProperty("logging.sampling.rates.login", "0.25")
+            .withProperty("logging.sampling.rates.user-info", "0")
+            .withProperty("logging.sampling.rates.registration", "1.0"), 0.5);
+
+    @Test
+    void sample_ShouldKeepEveryLineOrNone_AtTheExtremeRates() {
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(sampler.sample("registration"));
+            assertFalse(sampler.sample("user-info"));
+        }
+    }
+
+    @Test
+    void sample_ShouldKeepConfiguredShareOfLines() {
+        int kept = count("login", 100_000);
+
+        // 25% of 100 000 with a margin of more than ten standard deviations (sd ~ 137)
+        assertTrue(kept > 23_500 && kept < 26_500, "kept: " + kept);
+    }
+
+    @Test
+    void sample_ShouldUseDefaultRate_WhenEventHasNoRate() {
+        int kept = count("token-refresh", 100_000);
+
+        assertTrue(kept > 48_000 && kept < 52_000, "kept: " + kept);
+    }
+
+    private int count(String event, int attempts) {
+        int kept = 0;
+        for (int i = 0; i < attempts; i++) {
+            if (sampler.sample(event)) {
+                kept++;
+            }
+        }
+        return kept;
+    }
+}
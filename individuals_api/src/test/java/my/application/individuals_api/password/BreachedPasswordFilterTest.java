@@ -0,0 +1,103 @@
+package my.application.individuals_api.password;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BreachedPasswordFilterTest {
+
+    private static final int ENTRIES = 2_000;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void generatedFilter_ShouldBeReadBackThroughTheMapping() throws IOException {
+        Path filterFile = generate(ENTRIES, FALSE_POSITIVE_RATE);
+
+        long expectedBits = (long) Math.ceil(-ENTRIES * Math.log(FALSE_POSITIVE_RATE) / (Math.log(2) * Math.log(2)));
+        int expectedHashFunctions = (int) Math.round((double) expectedBits / ENTRIES * Math.log(2));
+        ByteBuffer header = ByteBuffer.wrap(Files.readAllBytes(filterFile));
+        assertEquals(BreachedPasswordFilter.MAGIC, header.getInt(0));
+        assertEquals(BreachedPasswordFilter.VERSION, header.getInt(4));
+        assertEquals(expectedHashFunctions, header.getInt(8));
+        assertEquals(expectedBits, header.getLong(16));
+        assertEquals(ENTRIES, header.getLong(24));
+        assertEquals(BreachedPasswordFilter.HEADER_SIZE + (expectedBits + 7) / 8, Files.size(filterFile));
+
+        BreachedPasswordFilter filter = new BreachedPasswordFilter(filterFile.toString());
+        try {
+            assertEquals(expectedHashFunctions, filter.hashFunctions());
+            assertEquals(expectedBits, filter.bitCount());
+            for (int i = 0; i < ENTRIES; i++) {
+                assertTrue(filter.mightContain(breached(i)), "missing " + breached(i));
+            }
+            int falsePositives = 0;
+            int probes = 20_000;
+            for (int i = 0; i < probes; i++) {
+                if (filter.mightContain("not-breached-" + i)) {
+                    falsePositives++;
+                }
+            }
+            assertTrue(falsePositives < probes * FALSE_POSITIVE_RATE * 2, "false positives: " + falsePositives);
+        } finally {
+            filter.destroy();
+        }
+    }
+
+    @Test
+    void unconfiguredFilter_ShouldContainNothing() {
+        BreachedPasswordFilter filter = new BreachedPasswordFilter("");
+
+        assertFalse(filter.mightContain(breached(0)));
+        filter.destroy();
+    }
+
+    @Test
+    void constructor_ShouldRejectForeignAndTruncatedFiles() throws IOException {
+        Path foreign = directory.resolve("foreign.bloom");
+        Files.write(foreign, new byte[64]);
+        assertThrows(IllegalStateException.class, () -> new BreachedPasswordFilter(foreign.toString()));
+
+        Path generated = generate(ENTRIES, FALSE_POSITIVE_RATE);
+        Path truncated = directory.resolve("truncated.bloom");
+        byte[] content = Files.readAllBytes(generated);
+        Files.write(truncated, Arrays.copyOf(content, content.length - 1));
+        assertThrows(IllegalStateException.class, () -> new BreachedPasswordFilter(truncated.toString()));
+    }
+
+    static String breached(int i) {
+        return "breached-password-" + i;
+    }
+
+    // Pwned Passwords format: upper-case SHA-1, optionally followed by ":count"; malformed lines are skipped.
+    private Path generate(int entries, double falsePositiveRate) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("not a hash");
+        for (int i = 0; i < entries; i++) {
+            String hash = HexFormat.of().withUpperCase().formatHex(
+                    BreachedPasswordFilter.sha1().digest(breached(i).getBytes(StandardCharsets.UTF_8)));
+            lines.add(i % 2 == 0 ? hash : hash + ":" + i);
+        }
+        Path hashList = directory.resolve("hashes.txt");
+        Path filterFile = directory.resolve("breached.bloom");
+        Files.write(hashList, lines, StandardCharsets.US_ASCII);
+        BreachedPasswordFilterGenerator.main(new String[]{hashList.toString(), filterFile.toString(), Double.toString(falsePositiveRate)});
+        return filterFile;
+    }
+}
@@ -0,0 +1,86 @@
+package my.application.individuals_api.password;
+
+import my.application.individuals_api.exception.AuthException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HexFormat;
+import java.util.List;
+
+import static my.application.individuals_api.utils.Messages.PASSWORD_BREACHED;
+import static my.application.individuals_api.utils.Messages.PASSWORD_TOO_SHORT;
+import static my.application.individuals_api.utils.Messages.PASSWORD_TOO_WEAK;
+
+class PasswordPolicyTest {
+
+    @TempDir
+    Path directory;
+
+    private BreachedPasswordFilter filter = new BreachedPasswordFilter("");
+
+    @AfterEach
+    void tearDown() {
+        filter.destroy();
+    }
+
+    @Test
+    void validate_ShouldEnforceMinimumLength() {
+        PasswordPolicy policy = new PasswordPolicy(8, 1, filter);
+
+        assertRejected(policy.validate("short12"), PASSWORD_TOO_SHORT);
+        StepVerifier.create(policy.validate("eightchr")).verifyComplete();
+    }
+
+    @Test
+    void validate_ShouldAcceptSingleCharacterClass_ByDefault() {
+        PasswordPolicy policy = new PasswordPolicy(8, 1, filter);
+
+        StepVerifier.create(policy.validate("correcthorsebatterystaple")).verifyComplete();
+        StepVerifier.create(policy.validate("1234567890")).verifyComplete();
+    }
+
+    @Test
+    void validate_ShouldCountLowerUpperDigitAndOtherClasses() {
+        PasswordPolicy policy = new PasswordPolicy(8, 3, filter);
+
+        assertRejected(policy.validate("lowercaseonly"), PASSWORD_TOO_WEAK);
+        assertRejected(policy.validate("lowerUPPER"), PASSWORD_TOO_WEAK);
+        StepVerifier.create(policy.validate("lowerUPPER1")).verifyComplete();
+        StepVerifier.create(policy.validate("lower-1234")).verifyComplete();
+        StepVerifier.create(policy.validate("пароль-1234")).verifyComplete();
+    }
+
+    @Test
+    void validate_ShouldRejectBreachedPasswords() throws IOException {
+        Path hashList = directory.resolve("hashes.txt");
+        Path filterFile = directory.resolve("breached.bloom");
+        Files.write(hashList, List.of(sha1Hex("SecurePassword123") + ":42", sha1Hex("qwertyuiop")), StandardCharsets.US_ASCII);
+        BreachedPasswordFilterGenerator.main(new String[]{hashList.toString(), filterFile.toString(), "0.0001"});
+        filter = new BreachedPasswordFilter(filterFile.toString());
+        PasswordPolicy policy = new PasswordPolicy(8, 1, filter);
+
+        assertRejected(policy.validate("SecurePassword123"), PASSWORD_BREACHED);
+        assertRejected(policy.validate("qwertyuiop"), PASSWORD_BREACHED);
+        StepVerifier.create(policy.validate("an-unbreached-passphrase")).verifyComplete();
+    }
+
+    private static void assertRejected(Mono<Void> validation, String message) {
+        StepVerifier.create(validation)
+                .expectErrorMatches(e -> e instanceof AuthException authException
+                        && authException.getStatus() == HttpStatus.BAD_REQUEST
+                        && message.equals(authException.getMessage()))
+                .verify();
+    }
+
+    private static String sha1Hex(String password) {
+        return HexFormat.of().withUpperCase().formatHex(BreachedPasswordFilter.sha1().digest(password.getBytes(StandardCharsets.UTF_8)));
+    }
+}
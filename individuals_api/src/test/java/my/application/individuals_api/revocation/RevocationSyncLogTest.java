@@ -0,0 +1,78 @@
+package my.application.individuals_api.revocation;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RevocationSyncLogTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void readNew_ShouldReadLinesAppendedByAnotherNode() throws IOException {
+        Path path = directory.resolve("revocations.log");
+        try (RevocationSyncLog writer = new RevocationSyncLog(path); RevocationSyncLog reader = new RevocationSyncLog(path)) {
+            writer.add("jti-1", 1_800_000_000);
+            writer.add("jti,with,commas", 1_800_000_001);
+            writer.flush();
+
+            assertEquals(Map.of("jti-1", 1_800_000_000L, "jti,with,commas", 1_800_000_001L), readNew(reader));
+
+            writer.add("jti-2", 1_800_000_002);
+            writer.flush();
+
+            assertEquals(Map.of("jti-2", 1_800_000_002L), readNew(reader));
+        }
+    }
+
+    @Test
+    void readNew_ShouldSkipMalformedLines() throws IOException {
+        Path path = directory.resolve("revocations.log");
+        Files.writeString(path, String.join("\n",
+                "no-separator",
+                "jti,12a4",
+                "jti,",
+                ",1800000000",
+                "jti,99999999999999999",
+                "x".repeat(600) + ",1800000000",
+                "",
+                "valid,1800000000",
+                ""));
+
+        try (RevocationSyncLog log = new RevocationSyncLog(path)) {
+            assertEquals(Map.of("valid", 1_800_000_000L), readNew(log));
+        }
+    }
+
+    @Test
+    void flush_ShouldStartOnANewLine_WhenTheLastLineWasTruncated() throws IOException {
+        Path path = directory.resolve("revocations.log");
+        Files.writeString(path, "jti-1,1800000000\njti-2,18000");
+
+        try (RevocationSyncLog reader = new RevocationSyncLog(path)) {
+            assertEquals(Map.of("jti-1", 1_800_000_000L), readNew(reader));
+
+            try (RevocationSyncLog writer = new RevocationSyncLog(path)) {
+                writer.add("jti-3", 1_800_000_003);
+                writer.flush();
+            }
+
+            // The truncated line ends up as its own short-lived entry instead of swallowing the next one.
+            assertEquals(Map.of("jti-2", 18_000L, "jti-3", 1_800_000_003L), readNew(reader));
+        }
+    }
+
+    private static Map<String, Long> readNew(RevocationSyncLog log) throws IOException {
+        Map<String, Long> entries = new LinkedHashMap<>();
+        log.readNew(entries::put);
+        return entries;
+    }
+}
@@ -0,0 +1,53 @@
+package my.application.individuals_api.revocation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RevocationTimingWheelTest {
+
+    private static final long TICK_MILLIS = 1_000;
+
+    private final List<String> expired = new ArrayList<>();
+
+    @Test
+    void advance_ShouldKeepEntry_UntilItsRoundComesUp() {
+        // Four buckets, so the entry's bucket comes up at ticks 2, 6 and 10 before its deadline at tick 14.
+        RevocationTimingWheel wheel = new RevocationTimingWheel(TICK_MILLIS, 4, 0);
+        wheel.schedule("jti", 14);
+
+        for (long now = 0; now < 14_000; now += TICK_MILLIS) {
+            wheel.advance(now, entry -> expired.add(entry.jti()));
+            assertTrue(expired.isEmpty(), "expired early at " + now);
+        }
+        wheel.advance(14_000, entry -> expired.add(entry.jti()));
+
+        assertEquals(List.of("jti"), expired);
+    }
+
+    @Test
+    void advance_ShouldExpireEveryDueEntry_WhenSeveralRoundsPassInOneCall() {
+        RevocationTimingWheel wheel = new RevocationTimingWheel(TICK_MILLIS, 4, 0);
+        wheel.schedule("first", 3);
+        wheel.schedule("second", 9);
+        wheel.schedule("later", 40);
+
+        wheel.advance(20_000, entry -> expired.add(entry.jti()));
+
+        assertEquals(List.of("first", "second"), expired);
+    }
+
+    @Test
+    void advance_ShouldExpireOnTheNextTick_WhenDeadlineHasAlreadyPassed() {
+        RevocationTimingWheel wheel = new RevocationTimingWheel(TICK_MILLIS, 4, 10_000);
+        wheel.schedule("past", 5);
+
+        wheel.advance(10_000, entry -> expired.add(entry.jti()));
+
+        assertEquals(List.of("past"), expired);
+    }
+}
@@ -0,0 +1,48 @@
+package my.application.individuals_api.revocation;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RevokedTokenStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void revocations_ShouldSurviveARestart_WhenTheSyncLogEndsInATruncatedLine() throws Exception {
+        Path syncLog = directory.resolve("revocations.log");
+        long retainUntil = Instant.now().plus(Duration.ofHours(1)).getEpochSecond();
+        // A node died while appending "jti-2".
+        Files.writeString(syncLog, "jti-1," + retainUntil + "\njti-2," + retainUntil / 1000);
+
+        RevokedTokenStore first = store(syncLog);
+        first.afterPropertiesSet();
+        assertTrue(first.isRevoked("jti-1"));
+        assertFalse(first.isRevoked("jti-2"));
+        first.revoke("jti-3", Instant.now().plus(Duration.ofHours(1)));
+        first.destroy();
+
+        RevokedTokenStore restarted = store(syncLog);
+        restarted.afterPropertiesSet();
+        try {
+            assertTrue(restarted.isRevoked("jti-1"));
+            assertTrue(restarted.isRevoked("jti-3"));
+            assertFalse(restarted.isRevoked("jti-2"));
+        } finally {
+            restarted.destroy();
+        }
+    }
+
+    private static RevokedTokenStore store(Path syncLog) throws Exception {
+        return new RevokedTokenStore(new SimpleMeterRegistry(), Duration.ofMillis(50), 64, syncLog.toString(), Duration.ofMinutes(1));
+    }
+}
@@ -0,0 +1,156 @@
+package my.application.individuals_api.rsocket;
+
+import io.rsocket.core.Resume;
+import my.application.individuals_api.BenchmarkResults;
+import my.application.individuals_api.KeycloakStubServer;
+import my.application.individuals_api.request.AccessTokenRequest;
+import my.application.individuals_api.request.LoginRequest;
+import my.application.individuals_api.request.RefreshTokenRequest;
+import my.application.individuals_api.response.AuthResponse;
+import my.application.individuals_api.response.UserInfoResponse;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.rsocket.server.LocalRSocketServerPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.MediaType;
+import org.springframework.messaging.rsocket.RSocketRequester;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * Throughput and latency of login, refresh-token and me over RSocket (CBOR, one multiplexed connection) and
+ * over HTTP/1.1 JSON, both against the Keycloak stand-in. Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class RSocketVsHttpBenchmark {
+
+    private static final int CONCURRENCY = 64;
+    private static final int WARMUP_REQUESTS = 20_000;
+    private static final int MEASURED_REQUESTS = 50_000;
+
+    private static final KeycloakStubServer KEYCLOAK = new KeycloakStubServer();
+
+    private static final LoginRequest LOGIN = new LoginRequest(KeycloakStubServer.USER_EMAIL, KeycloakStubServer.USER_PASSWORD);
+    private static final RefreshTokenRequest REFRESH = new RefreshTokenRequest(KeycloakStubServer.REFRESH_TOKEN);
+
+    @Autowired
+    private RSocketRequester.Builder requesterBuilder;
+
+    @LocalServerPort
+    private int httpPort;
+
+    @LocalRSocketServerPort
+    private int rsocketPort;
+
+    private RSocketRequester requester;
+    private WebClient webClient;
+
+    @DynamicPropertySource
+    static void registerProperties(DynamicPropertyRegistry registry) throws IOException {
+        KEYCLOAK.registerProperties(registry);
+        String auditDirectory = Files.createTempDirectory("audit-benchmark").toString();
+        registry.add("audit.directory", () -> auditDirectory);
+        registry.add("admission.enabled", () -> false);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        KEYCLOAK.close();
+    }
+
+    @BeforeEach
+    void connect() {
+        requester = requesterBuilder
+                .dataMimeType(MediaType.APPLICATION_CBOR)
+                .rsocketConnector(connector -> connector.resume(new Resume().sessionDuration(Duration.ofSeconds(30))))
+                .tcp("localhost", rsocketPort);
+        webClient = WebClient.create("http://localhost:" + httpPort);
+    }
+
+    @AfterEach
+    void disconnect() {
+        requester.dispose();
+    }
+
+    @Test
+    @DisplayName("login: RSocket vs HTTP")
+    void login() {
+        Result http = run(() -> webClient.post().uri("/v1/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(LOGIN)
+                .retrieve()
+                .bodyToMono(AuthResponse.class));
+        Result rsocket = run(() -> requester.route("auth.login").data(LOGIN).retrieveMono(AuthResponse.class));
+        report("login", http, rsocket);
+    }
+
+    @Test
+    @DisplayName("refresh-token: RSocket vs HTTP")
+    void refreshToken() {
+        Result http = run(() -> webClient.post().uri("/v1/auth/refresh-token")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(REFRESH)
+                .retrieve()
+                .bodyToMono(AuthResponse.class));
+        Result rsocket = run(() -> requester.route("auth.refresh-token").data(REFRESH).retrieveMono(AuthResponse.class));
+        report("refresh-token", http, rsocket);
+    }
+
+    @Test
+    @DisplayName("me: RSocket vs HTTP")
+    void me() {
+        AccessTokenRequest me = new AccessTokenRequest(KEYCLOAK.accessToken());
+        Result http = run(() -> webClient.get().uri("/v1/auth/me")
+                .header("Authorization", "Bearer " + KEYCLOAK.accessToken())
+                .retrieve()
+                .bodyToMono(UserInfoResponse.class));
+        Result rsocket = run(() -> requester.route("auth.me").data(me).retrieveMono(UserInfoResponse.class));
+        report("me", http, rsocket);
+    }
+
+    private record Result(double requestsPerSecond, long p50Nanos, long p99Nanos) {}
+
+    private static Result run(Supplier<Mono<?>> call) {
+        execute(call, new long[WARMUP_REQUESTS]);
+        long[] latencies = new long[MEASURED_REQUESTS];
+        long start = System.nanoTime();
+        execute(call, latencies);
+        long elapsed = System.nanoTime() - start;
+        Arrays.sort(latencies);
+        return new Result(MEASURED_REQUESTS * 1e9 / elapsed,
+                latencies[latencies.length / 2],
+                latencies[(int) (latencies.length * 0.99)]);
+    }
+
+    private static void execute(Supplier<Mono<?>> call, long[] latencies) {
+        Flux.range(0, latencies.length)
+                .flatMap(i -> Mono.defer(() -> {
+                    long start = System.nanoTime();
+                    return call.get().doOnSuccess(ignored -> latencies[i] = System.nanoTime() - start);
+                }), CONCURRENCY)
+                .blockLast();
+    }
+
+    private static void report(String name, Result http, Result rsocket) {
+        BenchmarkResults.record("RSocketVsHttpBenchmark", name,
+                "HTTP %,.0f req/s, p50 %.2f ms, p99 %.2f ms; RSocket %,.0f req/s, p50 %.2f ms, p99 %.2f ms".formatted(
+                        http.requestsPerSecond(), http.p50Nanos() / 1e6, http.p99Nanos() / 1e6,
+                        rsocket.requestsPerSecond(), rsocket.p50Nanos() / 1e6, rsocket.p99Nanos() / 1e6));
+    }
+}
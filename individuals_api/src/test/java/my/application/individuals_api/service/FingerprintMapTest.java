@@ -0,0 +1,42 @@
+package my.application.individuals_api.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FingerprintMapTest {
+
+    @Test
+    void putAndRemove_ShouldMatchAHashMap_ThroughResizesAndWraparound() {
+        FingerprintMap map = new FingerprintMap(4);
+        Map<Long, Long> model = new HashMap<>();
+        Random random = new Random(42);
+        List<Long> universe = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            universe.add(random.nextLong() | 1);
+        }
+
+        for (int step = 0; step < 50_000; step++) {
+            long key = universe.get(random.nextInt(universe.size()));
+            if (random.nextInt(3) == 0) {
+                assertEquals(model.getOrDefault(key, 0L), map.remove(key));
+                model.remove(key);
+            } else {
+                long value = random.nextLong() | 1;
+                assertEquals(model.getOrDefault(key, 0L), map.put(key, value));
+                model.put(key, value);
+            }
+            assertEquals(model.size(), map.size());
+        }
+        for (long key : universe) {
+            assertEquals(model.getOrDefault(key, 0L), map.get(key));
+            assertEquals(model.containsKey(key), map.containsKey(key));
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package my.application.individuals_api.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FingerprintTableTest {
+
+    @Test
+    void remove_ShouldKeepProbeChainsIntact_WhenEntriesCollide() {
+        FingerprintTable table = new FingerprintTable(16);
+        int mask = 15;
+        // Three fingerprints with the same home slot and one homed in the slot the chain overflows into.
+        List<Long> sameHome = new ArrayList<>();
+        long nextHome = -1;
+        int home = -1;
+        for (long candidate = 1; sameHome.size() < 3 || nextHome < 0; candidate++) {
+            int candidateHome = FingerprintTable.home(candidate, mask);
+            if (home < 0) {
+                home = candidateHome;
+            }
+            if (candidateHome == home && sameHome.size() < 3) {
+                sameHome.add(candidate);
+            } else if (candidateHome == ((home + 1) & mask) && nextHome < 0) {
+                nextHome = candidate;
+            }
+        }
+        for (long fingerprint : sameHome) {
+            table.add(fingerprint);
+        }
+        table.add(nextHome);
+
+        assertTrue(table.remove(sameHome.get(0)));
+
+        assertFalse(table.contains(sameHome.get(0)));
+        assertTrue(table.contains(sameHome.get(1)));
+        assertTrue(table.contains(sameHome.get(2)));
+        assertTrue(table.contains(nextHome));
+        assertEquals(3, table.size());
+    }
+
+    @Test
+    void addAndRemove_ShouldMatchAHashSet_ThroughResizesAndWraparound() {
+        FingerprintTable table = new FingerprintTable(4);
+        Set<Long> model = new HashSet<>();
+        Random random = new Random(42);
+        List<Long> universe = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            universe.add(random.nextLong() | 1);
+        }
+
+        for (int step = 0; step < 50_000; step++) {
+            long fingerprint = universe.get(random.nextInt(universe.size()));
+            if (random.nextInt(3) == 0) {
+                assertEquals(model.remove(fingerprint), table.remove(fingerprint));
+            } else {
+                assertEquals(model.add(fingerprint), table.add(fingerprint));
+            }
+            assertEquals(model.size(), table.size());
+        }
+        for (long fingerprint : universe) {
+            assertEquals(model.contains(fingerprint), table.contains(fingerprint));
+        }
+        assertTrue(table.size() <= table.capacity() / 2);
+    }
+
+    @Test
+    void add_ShouldDoubleCapacity_WhenMoreThanHalfFull() {
+        FingerprintTable table = new FingerprintTable(8);
+        for (long fingerprint = 1; fingerprint <= 4; fingerprint++) {
+            table.add(fingerprint);
+        }
+        assertEquals(8, table.capacity());
+
+        table.add(5);
+
+        assertEquals(16, table.capacity());
+        for (long fingerprint = 1; fingerprint <= 5; fingerprint++) {
+            assertTrue(table.contains(fingerprint));
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package my.application.individuals_api.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import my.application.individuals_api.exception.AuthException;
+import my.application.individuals_api.integration.KeycloakIntegration;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RegisteredEmailIndexTest {
+
+    private final KeycloakIntegration keycloakIntegration = mock(KeycloakIntegration.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void constructor_ShouldSizeBloomFilterForExpectedEmailsAndRate() {
+        RegisteredEmailIndex index = index(1_000_000, 0.01);
+
+        // m = -n ln p / (ln 2)^2 rounded up to whole words, k = m / n ln 2
+        assertEquals(9_585_088, index.bloomBits());
+        assertEquals(7, index.hashFunctions());
+    }
+
+    @Test
+    void bloomFilter_ShouldStayNearTheConfiguredFalsePositiveRate() {
+        RegisteredEmailIndex index = index(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            index.add("id" + i, "user" + i + "@example.com");
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (index.bloomMightContain("other" + i + "@example.com")) {
+                falsePositives++;
+            }
+        }
+
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+        for (int i = 0; i < 100_000; i++) {
+            assertFalse(index.isRegistered("other" + i + "@example.com"));
+        }
+    }
+
+    @Test
+    void isRegistered_ShouldIgnoreCase_AndForgetRemovedUsers() {
+        RegisteredEmailIndex index = index(1_000, 0.01);
+        index.add("id1", "User1@Example.com");
+
+        assertTrue(index.isRegistered("user1@example.com"));
+        assertTrue(index.containsUser("id1"));
+
+        index.removeUser("id1");
+
+        assertFalse(index.isRegistered("user1@example.com"));
+        assertFalse(index.containsUser("id1"));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void add_ShouldReplaceTheUsersPreviousEmail() {
+        RegisteredEmailIndex index = index(1_000, 0.01);
+        index.add("id1", "old@example.com");
+
+        index.add("id1", "new@example.com");
+
+        assertFalse(index.isRegistered("old@example.com"));
+        assertTrue(index.isRegistered("new@example.com"));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void checkNotRegistered_ShouldNotCallKeycloak_WhenEmailIsUnknown() {
+        RegisteredEmailIndex index = index(1_000, 0.01);
+
+        StepVerifier.create(index.checkNotRegistered("new@example.com")).verifyComplete();
+
+        verify(keycloakIntegration, never()).existsUserWithEmail("new@example.com");
+    }
+
+    @Test
+    void checkNotRegistered_ShouldReturnConflictLocally_WhileEvictionIsActive() {
+        RegisteredEmailIndex index = index(1_000, 0.01);
+        index.add("id1", "user1@example.com");
+        index.setEvictionActive(true);
+
+        StepVerifier.create(index.checkNotRegistered("user1@example.com"))
+                .expectErrorMatches(e -> e instanceof AuthException authException && authException.getStatus() == HttpStatus.CONFLICT)
+                .verify();
+
+        verify(keycloakIntegration, never()).existsUserWithEmail("user1@example.com");
+        assertEquals(1.0, meterRegistry.counter("registration.email-index.fast-fail").count());
+    }
+
+    @Test
+    void checkNotRegistered_ShouldConfirmWithKeycloak_WhenConfirmHitsIsSet() {
+        RegisteredEmailIndex index = new RegisteredEmailIndex(keycloakIntegration, meterRegistry, true, 1_000, 0.01, 500, true);
+        index.add("id1", "deleted@example.com");
+        index.setEvictionActive(true);
+        when(keycloakIntegration.existsUserWithEmail("deleted@example.com")).thenReturn(Mono.just(false));
+
+        StepVerifier.create(index.checkNotRegistered("deleted@example.com")).verifyComplete();
+
+        assertFalse(index.isRegistered("deleted@example.com"));
+    }
+
+    @Test
+    void checkNotRegistered_ShouldReturnConflict_WhenKeycloakConfirms() {
+        RegisteredEmailIndex index = index(1_000, 0.01);
+        index.add("id1", "user1@example.com");
+        when(keycloakIntegration.existsUserWithEmail("user1@example.com")).thenReturn(Mono.just(true));
+
+        StepVerifier.create(index.checkNotRegistered("user1@example.com"))
+                .expectErrorMatches(e -> e instanceof AuthException authException && authException.getStatus() == HttpStatus.CONFLICT)
+                .verify();
+        assertTrue(index.isRegistered("user1@example.com"));
+    }
+
+    @Test
+    void checkNotRegistered_ShouldDropStaleEntry_WhenUserNoLongerExists() {
+        RegisteredEmailIndex index = index(1_000, 0.01);
+        index.add("id1", "deleted@example.com");
+        when(keycloakIntegration.existsUserWithEmail("deleted@example.com")).thenReturn(Mono.just(false));
+
+        StepVerifier.create(index.checkNotRegistered("deleted@example.com")).verifyComplete();
+
+        assertFalse(index.isRegistered("deleted@example.com"));
+        assertEquals(1.0, meterRegistry.counter("registration.email-index.stale").count());
+    }
+
+    @Test
+    void checkNotRegistered_ShouldLetRegistrationProceed_WhenLookupFails() {
+        RegisteredEmailIndex index = index(1_000, 0.01);
+        index.add("id1", "user1@example.com");
+        when(keycloakIntegration.existsUserWithEmail("user1@example.com")).thenReturn(Mono.error(new IllegalStateException("down")));
+
+        StepVerifier.create(index.checkNotRegistered("user1@example.com")).verifyComplete();
+
+        assertTrue(index.isRegistered("user1@example.com"));
+    }
+
+    private RegisteredEmailIndex index(long expectedEmails, double falsePositiveRate) {
+        return new RegisteredEmailIndex(keycloakIntegration, meterRegistry, true, expectedEmails, falsePositiveRate, 500, false);
+    }
+}
@@ -0,0 +1,97 @@
+package my.application.individuals_api.service;
+
+import my.application.individuals_api.audit.AuditLog;
+import my.application.individuals_api.cache.KeycloakUserCache;
+import my.application.individuals_api.exception.AuthException;
+import my.application.individuals_api.integration.KeycloakIntegration;
+import my.application.individuals_api.logging.LogSampler;
+import my.application.individuals_api.model.KeycloakUserRepresentation;
+import my.application.individuals_api.password.PasswordPolicy;
+import my.application.individuals_api.response.UserInfoResponse;
+import my.application.individuals_api.response.UserLookupResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static my.application.individuals_api.utils.Messages.USER_LOOKUP_FAILED;
+import static my.application.individuals_api.utils.Messages.USER_NOT_FOUND;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserServiceTest {
+
+    private final KeycloakUserCache userCache = mock(KeycloakUserCache.class);
+    private final UserService userService = new UserService(mock(KeycloakIntegration.class), userCache,
+            mock(PasswordPolicy.class), mock(RegisteredEmailIndex.class), mock(AuditLog.class), mock(LogSampler.class), 4);
+
+    @Test
+    void lookupUsers_ShouldReturnUserInfo_WhenUserExists() {
+        givenUser("id-1", "user1@example.com", List.of("ROLE_user"));
+
+        Map<String, UserLookupResponse> results = lookup(List.of("id-1"));
+
+        assertEquals(new UserInfoResponse("id-1", "user1@example.com", List.of("ROLE_user"), Instant.ofEpochMilli(1_000)),
+                results.get("id-1").user());
+        assertNull(results.get("id-1").error());
+    }
+
+    @Test
+    void lookupUsers_ShouldFetchEachIdOnce_WhenIdsRepeat() {
+        givenUser("id-1", "user1@example.com", List.of());
+        givenUser("id-2", "user2@example.com", List.of());
+
+        List<UserLookupResponse> results = userService.lookupUsers(List.of("id-1", "id-2", "id-1")).collectList().block();
+
+        assertEquals(2, results.size());
+        verify(userCache, times(1)).getUser("id-1");
+        verify(userCache, times(1)).getRoles("id-1");
+    }
+
+    @Test
+    void lookupUsers_ShouldReturnInlineError_WhenUserNotFound() {
+        givenUser("id-1", "user1@example.com", List.of());
+        when(userCache.getUser("missing")).thenReturn(Mono.error(new AuthException(USER_NOT_FOUND, HttpStatus.NOT_FOUND)));
+        when(userCache.getRoles("missing")).thenReturn(Mono.error(new AuthException(USER_NOT_FOUND, HttpStatus.NOT_FOUND)));
+
+        Map<String, UserLookupResponse> results = lookup(List.of("missing", "id-1"));
+
+        assertEquals(USER_NOT_FOUND, results.get("missing").error());
+        assertNull(results.get("missing").user());
+        assertEquals("user1@example.com", results.get("id-1").user().email());
+    }
+
+    @Test
+    void lookupUsers_ShouldReturnInlineError_WhenLookupFailsUnexpectedly() {
+        givenUser("id-1", "user1@example.com", List.of());
+        when(userCache.getUser("broken")).thenReturn(Mono.error(new IllegalStateException("connection reset")));
+        when(userCache.getRoles("broken")).thenReturn(Mono.just(List.of()));
+
+        Map<String, UserLookupResponse> results = lookup(List.of("broken", "id-1"));
+
+        assertEquals(USER_LOOKUP_FAILED, results.get("broken").error());
+        assertEquals("user1@example.com", results.get("id-1").user().email());
+    }
+
+    private Map<String, UserLookupResponse> lookup(List<String> ids) {
+        return userService.lookupUsers(ids)
+                .collectList()
+                .block()
+                .stream()
+                .collect(Collectors.toMap(UserLookupResponse::id, Function.identity()));
+    }
+
+    private void givenUser(String id, String email, List<String> roles) {
+        when(userCache.getUser(id)).thenReturn(Mono.just(new KeycloakUserRepresentation(id, email, 1_000L)));
+        when(userCache.getRoles(id)).thenReturn(Mono.just(roles));
+    }
+}
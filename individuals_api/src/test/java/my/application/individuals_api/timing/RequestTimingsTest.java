@@ -0,0 +1,27 @@
+package my.application.individuals_api.timing;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RequestTimingsTest {
+
+    @Test
+    void record_ShouldSumRepeatedPhases() {
+        RequestTimings timings = new RequestTimings("request-1");
+        for (int i = 0; i < 500; i++) {
+            timings.record("kc-get-user", 1_000_000);
+            timings.record("kc-get-roles", 2_000_000);
+        }
+        timings.record("validation", 3_000);
+
+        Map<String, Long> recorded = new LinkedHashMap<>();
+        timings.forEach(recorded::put);
+
+        assertEquals(Map.of("kc-get-user", 500_000_000L, "kc-get-roles", 1_000_000_000L, "validation", 3_000L), recorded);
+        assertEquals("kc-get-user;dur=500.000, kc-get-roles;dur=1000.000, validation;dur=0.003", timings.toHeaderValue());
+    }
+}
@@ -0,0 +1,38 @@
+package my.application.individuals_api.utils;
+
+import my.application.individuals_api.response.UserInfoResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class ETagsTest {
+
+    private static final Instant CREATED_AT = Instant.ofEpochMilli(1_700_000_000_000L);
+
+    @Test
+    void userInfo_ShouldBeStable_ForTheSameBody() {
+        assertEquals(ETags.userInfo(userInfo(List.of("ROLE_admin", "ROLE_user"))),
+                ETags.userInfo(userInfo(List.of("ROLE_admin", "ROLE_user"))));
+    }
+
+    @Test
+    void userInfo_ShouldDiffer_WhenTheSerializedRoleOrderDiffers() {
+        // A strong tag stands for the exact body, so a different role order in the body must not share it.
+        assertNotEquals(ETags.userInfo(userInfo(List.of("ROLE_admin", "ROLE_user"))),
+                ETags.userInfo(userInfo(List.of("ROLE_user", "ROLE_admin"))));
+    }
+
+    @Test
+    void userInfo_ShouldDiffer_WhenValuesShiftBetweenFields() {
+        assertNotEquals(ETags.userInfo(new UserInfoResponse("ab", "c", List.of(), CREATED_AT)),
+                ETags.userInfo(new UserInfoResponse("a", "bc", List.of(), CREATED_AT)));
+    }
+
+    private static UserInfoResponse userInfo(List<String> roles) {
+        return new UserInfoResponse("u1", "user1@example.com", roles, CREATED_AT);
+    }
+}